@@ -1,19 +1,31 @@
+var showingAllEmployees = false;
+var employeesRefreshTimer = null;
+
 function getAllEmployees() {
+    showingAllEmployees = true;
+    var tableBody = $('.tblEmployee tbody');
+    tableBody.empty();
+    loadEmployeePages(window.location+'employees', tableBody, function (error) {
+        showMessage(error, 'danger');
+    });
+}
+
+function loadEmployeePages(url, tableBody, onError) {
     $.ajax({
-        url:window.location+'employees',
+        url: url,
         method: 'GET',
         dataType: 'json',
-        data: {_embedded:{ employeeDtoList: new Array()}},
         success: function (data) {
-            var tableBody = $('.tblEmployee tbody');
-            tableBody.empty();
-            $(data._embedded.employeeDtoList).each(function (index, element) {
-               loadEmployeesTable(tableBody,element);
-            });
+            if (data._embedded){
+                $(data._embedded.employeeDtoList).each(function (index, element) {
+                   loadEmployeesTable(tableBody,element);
+                });
+            }
+            if (data._links && data._links.next){
+                loadEmployeePages(data._links.next.href, tableBody, onError);
+            }
         },
-        error: function (error) {
-            showMessage(error, 'danger');
-        }
+        error: onError
     });
 }
 
@@ -38,6 +50,7 @@ function getRoles() {
 }
 
 function getEmployeeById(id) {
+    showingAllEmployees = false;
     $.ajax({
         url: window.location+'employees/' + id,
         method: 'GET',
@@ -57,6 +70,7 @@ function getEmployeeById(id) {
 }
 
 function getEmployeesByRoleId(role) {
+    showingAllEmployees = false;
     $.ajax({
         url: window.location+'employees/roleid/' + role,
         method: 'GET',
@@ -83,6 +97,7 @@ function getEmployeesByRoleId(role) {
 }
 
 function getEmployeesByRoleTittle(role) {
+    showingAllEmployees = false;
     $.ajax({
         url: window.location+'employees/role/' + role,
         method: 'GET',
@@ -108,6 +123,27 @@ function getEmployeesByRoleTittle(role) {
     });
 }
 
+function subscribeEmployeeChanges() {
+    if (!window.EventSource) {
+        return;
+    }
+    var changes = new EventSource(window.location+'employees/changes/stream');
+    changes.onmessage = scheduleEmployeesRefresh;
+    changes.addEventListener('reset', scheduleEmployeesRefresh);
+}
+
+function scheduleEmployeesRefresh() {
+    if (!showingAllEmployees || employeesRefreshTimer) {
+        return;
+    }
+    employeesRefreshTimer = setTimeout(function () {
+        employeesRefreshTimer = null;
+        if (showingAllEmployees) {
+            getAllEmployees();
+        }
+    }, 500);
+}
+
 function addEmployee(dynamicURL,methodName,employee){
     $.ajax({
         url: dynamicURL,
@@ -1,6 +1,7 @@
 $(document).ready(function () {
      getAllEmployees();
      getRoles();
+     subscribeEmployeeChanges();
 
     document.getElementById('employee-form').addEventListener('submit', function(e){
         var employee = {};
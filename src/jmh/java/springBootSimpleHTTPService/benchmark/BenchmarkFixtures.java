@@ -0,0 +1,75 @@
+package springBootSimpleHTTPService.benchmark;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.JobEnum;
+import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.util.EmployeeModelAssembler;
+import springBootSimpleHTTPService.util.EmployeeModelMapperConvert;
+import springBootSimpleHTTPService.util.RoleModelAssembler;
+import springBootSimpleHTTPService.util.RoleModelMapperConvert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos y componentes compartidos por los benchmarks.
+ *
+ * Los componentes se instancian fuera del contenedor de Spring, por lo que sus dependencias
+ * (inyectadas con @Autowired en campos privados) se asignan mediante ReflectionTestUtils
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] FIRST_NAMES = {"Roy", "Alan", "Gareth", "Evans", "Greg", "Giacomo", "Philippe"};
+    private static final String[] LAST_NAMES = {"Fielding", "Gates", "Reakes", "Ye", "Hudson", "Pati", "Chiasson"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Role> roles() {
+        List<Role> roles = new ArrayList<>();
+        JobEnum[] jobs = JobEnum.values();
+        for (int i = 0; i < jobs.length; i++) {
+            roles.add(new Role((long) i + 1, jobs[i], jobs[i].getDollars()));
+        }
+        return roles;
+    }
+
+    static List<Employee> employees(int size) {
+        List<Role> roles = roles();
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee((long) i + 1, FIRST_NAMES[i % FIRST_NAMES.length],
+                    LAST_NAMES[i % LAST_NAMES.length], roles.get(i % roles.size())));
+        }
+        return employees;
+    }
+
+    static EmployeeModelAssembler employeeModelAssembler() {
+        EmployeeModelAssembler assembler = new EmployeeModelAssembler();
+        ReflectionTestUtils.setField(assembler, "employeeModelMapperConvert", new EmployeeModelMapperConvert());
+        return assembler;
+    }
+
+    static RoleModelAssembler roleModelAssembler() {
+        RoleModelAssembler assembler = new RoleModelAssembler();
+        ReflectionTestUtils.setField(assembler, "roleModelMapperConvert", new RoleModelMapperConvert());
+        return assembler;
+    }
+
+    /**
+     * Asocia al hilo actual una peticion HTTP simulada, necesaria para construir enlaces HATEOAS
+     */
+    static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees");
+        request.setServerPort(8181);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
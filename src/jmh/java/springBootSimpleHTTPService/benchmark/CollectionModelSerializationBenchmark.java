@@ -0,0 +1,75 @@
+package springBootSimpleHTTPService.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import springBootSimpleHTTPService.dto.EmployeeDto;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.util.EmployeeModelAssembler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark de la serializacion JSON (HAL) de un CollectionModel de EmployeeDto, tal y como
+ * lo escribe el endpoint /employees, para distintos tamaños de coleccion.
+ *
+ * El ObjectMapper se configura con el modulo HAL de Spring HATEOAS, de forma que la coleccion
+ * se serializa bajo '_embedded.employeeDtoList' y los enlaces bajo '_links'.
+ * La salida se descarta, solo se mide el coste de generar el JSON
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollectionModelSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private CollectionModel<EntityModel<EmployeeDto>> collectionModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        writer = mapper.writer();
+
+        BenchmarkFixtures.bindRequest();
+        try {
+            EmployeeModelAssembler assembler = BenchmarkFixtures.employeeModelAssembler();
+            List<Employee> employees = BenchmarkFixtures.employees(size);
+            List<EntityModel<EmployeeDto>> models = employees.stream()
+                    .map(assembler::toModel)
+                    .collect(Collectors.toList());
+            collectionModel = CollectionModel.of(models, Link.of("http://localhost:8181/employees"));
+        } finally {
+            BenchmarkFixtures.unbindRequest();
+        }
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), collectionModel);
+    }
+}
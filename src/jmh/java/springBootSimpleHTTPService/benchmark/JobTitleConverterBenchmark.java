@@ -0,0 +1,47 @@
+package springBootSimpleHTTPService.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import springBootSimpleHTTPService.entity.JobEnum;
+import springBootSimpleHTTPService.util.JobTitleConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del convertidor JPA JobTitleConverter, que se ejecuta por cada fila de la tabla 'role'
+ * hidratada y por cada Role persistido.
+ * Se mide el primer y el ultimo valor de JobEnum, para detectar costes que dependan de su posicion
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JobTitleConverterBenchmark {
+
+    @Param({"Software Engineer", "Cloud System Engineer"})
+    private String jobTitle;
+
+    private JobTitleConverter converter;
+    private JobEnum jobEnum;
+
+    @Setup
+    public void setUp() {
+        converter = new JobTitleConverter();
+        jobEnum = converter.convertToEntityAttribute(jobTitle);
+    }
+
+    @Benchmark
+    public JobEnum convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(jobTitle);
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(jobEnum);
+    }
+}
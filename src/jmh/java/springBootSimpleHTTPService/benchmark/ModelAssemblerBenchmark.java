@@ -0,0 +1,92 @@
+package springBootSimpleHTTPService.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.hateoas.EntityModel;
+import springBootSimpleHTTPService.controller.EmployeeController;
+import springBootSimpleHTTPService.dto.EmployeeDto;
+import springBootSimpleHTTPService.dto.RoleDto;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.util.EmployeeModelAssembler;
+import springBootSimpleHTTPService.util.EmployeeModelMapperConvert;
+import springBootSimpleHTTPService.util.RoleModelAssembler;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Benchmark de los metodos toModel de EmployeeModelAssembler y RoleModelAssembler, por objeto,
+ * dentro de una peticion HTTP simulada asociada al hilo del benchmark.
+ *
+ * El metodo 'linkToPerEmployeeToModel' reproduce el ensamblado anterior de EmployeeModelAssembler,
+ * que construia los ocho enlaces con linkTo(methodOn(...)) para cada empleado, y sirve como
+ * referencia frente a las plantillas de enlaces precalculadas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ModelAssemblerBenchmark {
+
+    private static final String JSON_SCHEMA =
+            "{\"firstName\":\"value1\", \"lastName\":\"value2\", \"role\": {\"id\": [1-11]}}";
+
+    private EmployeeModelAssembler employeeModelAssembler;
+    private RoleModelAssembler roleModelAssembler;
+    private EmployeeModelMapperConvert employeeModelMapperConvert;
+
+    private Employee employee;
+    private Role role;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.bindRequest();
+        employeeModelAssembler = BenchmarkFixtures.employeeModelAssembler();
+        roleModelAssembler = BenchmarkFixtures.roleModelAssembler();
+        employeeModelMapperConvert = new EmployeeModelMapperConvert();
+        employee = BenchmarkFixtures.employees(1).get(0);
+        role = employee.getRole();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.unbindRequest();
+    }
+
+    @Benchmark
+    public EntityModel<EmployeeDto> employeeToModel() {
+        return employeeModelAssembler.toModel(employee);
+    }
+
+    @Benchmark
+    public EntityModel<RoleDto> roleToModel() {
+        return roleModelAssembler.toModel(role);
+    }
+
+    @Benchmark
+    public EntityModel<EmployeeDto> linkToPerEmployeeToModel() {
+        EmployeeDto employeeDto = employeeModelMapperConvert.convertToDto(employee);
+        return EntityModel.of(employeeDto,
+                linkTo(methodOn(EmployeeController.class).oneEmployee(employee.getId(), null)).withSelfRel(),
+                linkTo(methodOn(EmployeeController.class).allEmployees(null, null)).withRel("all"),
+                linkTo(methodOn(EmployeeController.class).newEmployee(employee)).withRel(
+                        "curl -X POST -d '" + JSON_SCHEMA + "'" + " -H \"Content-Type: application/json\" "),
+                linkTo(methodOn(EmployeeController.class).updateEmployee(employee, employee.getId(), null)).withRel(
+                        "curl -X PUT -d '" + JSON_SCHEMA + "'" + " -H \"Content-Type: application/json\" "),
+                linkTo(methodOn(EmployeeController.class).deleteEmployee(employee.getId())).withRel("delete"),
+                linkTo(methodOn(EmployeeController.class)
+                        .findEmployeesByRoleId(employee.getRole().getId(), null, null)).withRel("getByRoleId [1-11]"),
+                linkTo(methodOn(EmployeeController.class).findEmployeesByRolePathVariable(
+                        employee.getRole().getJobEnum(), null, null)).withRel("getByRolePathVariable"),
+                linkTo(methodOn(EmployeeController.class).findEmployeesByRoleRequestParam(
+                        employee.getRole().getJobEnum(), null, null)).withRel("getByRoleRequestParam"));
+    }
+}
@@ -0,0 +1,73 @@
+package springBootSimpleHTTPService.benchmark;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import springBootSimpleHTTPService.dto.EmployeeDto;
+import springBootSimpleHTTPService.dto.RoleDto;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.util.EmployeeModelMapperConvert;
+import springBootSimpleHTTPService.util.RoleModelMapperConvert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversion de entidades a DTO, por objeto.
+ *
+ * Los metodos 'modelMapper...' reproducen el mapeo anterior basado en ModelMapper (reflexion
+ * en cada llamada, mas la asignacion manual de 'jobTitle' y 'annualSalary') y sirven como
+ * referencia frente a los convertidores actuales EmployeeModelMapperConvert y RoleModelMapperConvert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelMapperConvertBenchmark {
+
+    private EmployeeModelMapperConvert employeeModelMapperConvert;
+    private RoleModelMapperConvert roleModelMapperConvert;
+    private ModelMapper modelMapper;
+
+    private Employee employee;
+    private Role role;
+
+    @Setup
+    public void setUp() {
+        employeeModelMapperConvert = new EmployeeModelMapperConvert();
+        roleModelMapperConvert = new RoleModelMapperConvert();
+        modelMapper = new ModelMapper();
+        employee = BenchmarkFixtures.employees(1).get(0);
+        role = employee.getRole();
+    }
+
+    @Benchmark
+    public EmployeeDto employeeConvertToDto() {
+        return employeeModelMapperConvert.convertToDto(employee);
+    }
+
+    @Benchmark
+    public RoleDto roleConvertToDto() {
+        return roleModelMapperConvert.convertToDto(role);
+    }
+
+    @Benchmark
+    public EmployeeDto modelMapperEmployeeConvertToDto() {
+        EmployeeDto employeeDto = modelMapper.map(employee, EmployeeDto.class);
+        employeeDto.setJobTitle(employee.getRole().getJobEnum().getJobTitle());
+        employeeDto.setAnnualSalary(employee.getRole().getAnnualSalary());
+        return employeeDto;
+    }
+
+    @Benchmark
+    public RoleDto modelMapperRoleConvertToDto() {
+        RoleDto roleDto = modelMapper.map(role, RoleDto.class);
+        roleDto.setJobTitle(role.getJobEnum().getJobTitle());
+        roleDto.setAnnualSalary(role.getAnnualSalary());
+        return roleDto;
+    }
+}
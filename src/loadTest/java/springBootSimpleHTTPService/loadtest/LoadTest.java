@@ -0,0 +1,179 @@
+package springBootSimpleHTTPService.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import springBootSimpleHTTPService.App;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga del servicio, se ejecuta con ./gradlew loadTest
+ *
+ * Arranca la aplicacion en un puerto aleatorio (o utiliza un servidor ya arrancado, con 'loadtest.base-url'),
+ * crea un conjunto de datos inicial mediante POST /employees/batch y ejecuta una carga de trabajo mixta
+ * a una tasa fija de peticiones por segundo, una vez por cada numero de hilos cliente indicado.
+ * Para cada ejecucion informa, por operacion y en total, del numero de peticiones, la tasa conseguida,
+ * los percentiles p50, p99 y p99.9 de latencia y los errores (ver WorkloadRun).
+ *
+ * Configuracion, mediante propiedades del sistema (-Dloadtest.x=y en la linea de comandos de Gradle):
+ * - loadtest.employees, numero de empleados del conjunto de datos inicial (10000)
+ * - loadtest.threads, numeros de hilos cliente separados por comas (1,2,4,8,16)
+ * - loadtest.rate, peticiones por segundo en total (1000)
+ * - loadtest.warmup-seconds y loadtest.duration-seconds, duracion del calentamiento y de la medida (10 y 30)
+ * - loadtest.mix, pesos de las operaciones (get:60,list:20,create:10,update:5,delete:5)
+ * - loadtest.seed, semilla de la seleccion de operaciones y datos (42)
+ */
+public final class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        int employees = Integer.getInteger("loadtest.employees", 10000);
+        int[] threadCounts = Arrays.stream(System.getProperty("loadtest.threads", "1,2,4,8,16").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int rate = Integer.getInteger("loadtest.rate", 1000);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("loadtest.warmup-seconds", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("loadtest.duration-seconds", 30));
+        Operation[] mix = parseMix(System.getProperty("loadtest.mix", "get:60,list:20,create:10,update:5,delete:5"));
+        long seed = Long.getLong("loadtest.seed", 42L);
+        String baseUrl = System.getProperty("loadtest.base-url");
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            context = SpringApplication.run(App.class, "--server.port=0", "--management.server.port=0",
+                    "--logging.level.root=WARN");
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        int maxThreads = Arrays.stream(threadCounts).max().orElse(1);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxThreads);
+        connectionManager.setDefaultMaxPerRoute(maxThreads);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(5000)
+                .setSocketTimeout(60000)
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .build()) {
+
+            List<Long> seededIds = seed(httpClient, objectMapper, baseUrl, employees, new SplittableRandom(seed));
+            Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+            System.out.printf("Target %s, %d employees, %d requests/s, mix %s%n", baseUrl, seededIds.size(), rate,
+                    System.getProperty("loadtest.mix", "get:60,list:20,create:10,update:5,delete:5"));
+            System.out.printf("%7s  %-12s %9s %10s %9s %9s %9s %9s %7s%n",
+                    "threads", "operation", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+
+            for (int threads : threadCounts) {
+                new WorkloadRun(httpClient, objectMapper, baseUrl, seededIds, createdIds, mix)
+                        .run(threads, rate, warmupNanos, seed);
+
+                WorkloadRun run = new WorkloadRun(httpClient, objectMapper, baseUrl, seededIds, createdIds, mix);
+                run.run(threads, rate, durationNanos, seed + threads);
+                report(threads, run, durationNanos);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Crea el conjunto de datos inicial en lotes de SEED_BATCH_SIZE empleados
+     *
+     * @return listado de los ids de los empleados creados
+     */
+    private static List<Long> seed(CloseableHttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                                   int employees, SplittableRandom random) throws IOException {
+
+        List<Long> ids = new ArrayList<>(employees);
+        for (int created = 0; created < employees; created += SEED_BATCH_SIZE) {
+            StringBuilder json = new StringBuilder("[");
+            for (int i = created; i < Math.min(employees, created + SEED_BATCH_SIZE); i++) {
+                if (i > created) {
+                    json.append(',');
+                }
+                json.append("{\"firstName\":\"Seed").append(i).append("\",\"lastName\":\"Employee")
+                        .append(random.nextInt(10000)).append("\",\"role\":{\"id\":")
+                        .append(1 + random.nextInt(11)).append("}}");
+            }
+            json.append(']');
+
+            HttpPost post = new HttpPost(baseUrl + "/employees/batch");
+            post.setEntity(new StringEntity(json.toString(), ContentType.APPLICATION_JSON));
+            try (CloseableHttpResponse response = httpClient.execute(post)) {
+                if (response.getStatusLine().getStatusCode() >= 300) {
+                    throw new IllegalStateException("Seeding failed: " + response.getStatusLine());
+                }
+                for (JsonNode item : objectMapper.readTree(response.getEntity().getContent())) {
+                    ids.add(item.path("id").asLong());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Operation[] parseMix(String mix) {
+        List<Operation> operations = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split(":");
+            Operation operation = Operation.fromKey(keyAndWeight[0]);
+            for (int i = Integer.parseInt(keyAndWeight[1]); i > 0; i--) {
+                operations.add(operation);
+            }
+        }
+        return operations.toArray(new Operation[0]);
+    }
+
+    private static void report(int threads, WorkloadRun run, long durationNanos) {
+        double seconds = durationNanos / 1e9;
+        Histogram total = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = run.histogram(operation);
+            if (histogram.getTotalCount() > 0) {
+                printRow(threads, operation.name(), histogram, run.errors(operation), seconds);
+                total.add(histogram);
+                totalErrors += run.errors(operation);
+            }
+        }
+        printRow(threads, "TOTAL", total, totalErrors, seconds);
+        System.out.println();
+    }
+
+    private static void printRow(int threads, String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%7d  %-12s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7d%n", threads, name,
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMaxValue() / 1e6, errors);
+    }
+}
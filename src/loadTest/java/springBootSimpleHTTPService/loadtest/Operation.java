@@ -0,0 +1,28 @@
+package springBootSimpleHTTPService.loadtest;
+
+/**
+ * Operaciones de la carga de trabajo mixta, con el nombre utilizado en la propiedad 'loadtest.mix'
+ */
+enum Operation {
+
+    GET_BY_ID("get"),           //GET /employees/{id}, sobre un empleado del conjunto de datos inicial
+    LIST_BY_ROLE("list"),       //GET /employees/roleid/{role_id}, primera pagina
+    CREATE("create"),           //POST /employees
+    UPDATE("update"),           //PUT /employees/{id}, sobre un empleado del conjunto de datos inicial
+    DELETE("delete");           //DELETE /employees/{id}, sobre un empleado creado durante la prueba
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "' in loadtest.mix");
+    }
+}
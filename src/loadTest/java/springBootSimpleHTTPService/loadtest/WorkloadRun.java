@@ -0,0 +1,196 @@
+package springBootSimpleHTTPService.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ejecucion de la carga de trabajo mixta con un numero de hilos y una tasa de peticiones fijos.
+ *
+ * Cada hilo envia sus peticiones segun un calendario fijo (tasa / hilos peticiones por segundo, desfasadas
+ * entre hilos) y la latencia de cada peticion se mide desde el instante en el que debia enviarse, no desde
+ * el instante en el que se envia realmente. Asi, cuando el servicio se retrasa y el hilo no puede cumplir
+ * el calendario, el tiempo de espera se incluye en la latencia (correccion de la omision coordinada), en
+ * lugar de enviar menos peticiones y ocultar el retraso
+ */
+final class WorkloadRun {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private final CloseableHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final List<Long> seededIds;
+    private final Queue<Long> createdIds;
+    private final Operation[] mix;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, long[]> errors = new EnumMap<>(Operation.class);
+
+    WorkloadRun(CloseableHttpClient httpClient, ObjectMapper objectMapper, String baseUrl, List<Long> seededIds,
+                Queue<Long> createdIds, Operation[] mix) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.seededIds = seededIds;
+        this.createdIds = createdIds;
+        this.mix = mix;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new Histogram(HIGHEST_TRACKABLE_LATENCY, 3));
+            errors.put(operation, new long[1]);
+        }
+    }
+
+    /**
+     * @param threads, tipo int, numero de hilos cliente
+     * @param rate, tipo int, peticiones por segundo en total, repartidas entre los hilos
+     * @param durationNanos, tipo long, duracion de la ejecucion
+     * @param seed, tipo long, semilla de la seleccion de operaciones y datos
+     */
+    void run(int threads, int rate, long durationNanos, long seed) throws InterruptedException {
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(threads) / rate;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long end = start + durationNanos;
+
+        List<Worker> workers = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < threads; i++) {
+            long firstRequest = start + TimeUnit.SECONDS.toNanos(1) * i / rate;
+            Worker worker = new Worker(firstRequest, intervalNanos, end, seeds.split());
+            worker.setName("load-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Worker worker : workers) {
+            worker.join();
+            for (Operation operation : Operation.values()) {
+                histograms.get(operation).add(worker.histograms.get(operation));
+                errors.get(operation)[0] += worker.errors.get(operation)[0];
+            }
+        }
+    }
+
+    Histogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation)[0];
+    }
+
+    private final class Worker extends Thread {
+
+        private final long firstRequest;
+        private final long intervalNanos;
+        private final long end;
+        private final SplittableRandom random;
+        private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        private final Map<Operation, long[]> errors = new EnumMap<>(Operation.class);
+
+        private Worker(long firstRequest, long intervalNanos, long end, SplittableRandom random) {
+            this.firstRequest = firstRequest;
+            this.intervalNanos = intervalNanos;
+            this.end = end;
+            this.random = random;
+            for (Operation operation : Operation.values()) {
+                histograms.put(operation, new Histogram(HIGHEST_TRACKABLE_LATENCY, 3));
+                errors.put(operation, new long[1]);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (long intended = firstRequest; intended < end; intended += intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = mix[random.nextInt(mix.length)];
+                Long deletedId = null;
+                if (operation == Operation.DELETE) {
+                    deletedId = createdIds.poll();
+                    if (deletedId == null) {
+                        operation = Operation.CREATE;
+                    }
+                }
+
+                boolean ok;
+                try {
+                    ok = execute(operation, deletedId);
+                } catch (IOException e) {
+                    ok = false;
+                }
+
+                long latency = System.nanoTime() - intended;
+                histograms.get(operation).recordValue(Math.min(latency, HIGHEST_TRACKABLE_LATENCY));
+                if (!ok) {
+                    errors.get(operation)[0]++;
+                }
+            }
+        }
+
+        private boolean execute(Operation operation, Long deletedId) throws IOException {
+            switch (operation) {
+                case GET_BY_ID:
+                    return send(new HttpGet(baseUrl + "/employees/" + randomSeededId()), null);
+                case LIST_BY_ROLE:
+                    return send(new HttpGet(baseUrl + "/employees/roleid/" + (1 + random.nextInt(11)) + "?limit=20"), null);
+                case CREATE:
+                    HttpPost post = new HttpPost(baseUrl + "/employees");
+                    post.setEntity(employeeJson());
+                    return send(post, operation);
+                case UPDATE:
+                    HttpPut put = new HttpPut(baseUrl + "/employees/" + randomSeededId());
+                    put.setEntity(employeeJson());
+                    return send(put, null);
+                case DELETE:
+                    return send(new HttpDelete(baseUrl + "/employees/" + deletedId), null);
+                default:
+                    throw new IllegalStateException(operation.name());
+            }
+        }
+
+        private boolean send(HttpUriRequest request, Operation operation) throws IOException {
+            try (CloseableHttpResponse response = httpClient.execute(request)) {
+                int status = response.getStatusLine().getStatusCode();
+                HttpEntity entity = response.getEntity();
+                if (operation == Operation.CREATE && status < 300 && entity != null) {
+                    createdIds.add(objectMapper.readTree(entity.getContent()).path("id").asLong());
+                }
+                EntityUtils.consume(entity);
+                return status < 400;
+            }
+        }
+
+        private long randomSeededId() {
+            return seededIds.get(random.nextInt(seededIds.size()));
+        }
+
+        private StringEntity employeeJson() {
+            return new StringEntity("{\"firstName\":\"Load" + random.nextInt(1000) + "\",\"lastName\":\"Test\","
+                    + "\"role\":{\"id\":" + (1 + random.nextInt(11)) + "}}", ContentType.APPLICATION_JSON);
+        }
+    }
+}
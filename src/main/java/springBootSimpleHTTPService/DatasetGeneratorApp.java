@@ -0,0 +1,26 @@
+package springBootSimpleHTTPService;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import springBootSimpleHTTPService.util.DatasetGenerator;
+
+/**
+ * Punto de entrada del generador de datos sinteticos (ver DatasetGenerator)
+ *
+ * Arranca la aplicacion sin servidor web y con el perfil 'generate', que carga los empleados al arrancar,
+ * y termina al acabar. Se ejecuta con ./gradlew generateDataset -Dgenerate.employees=1000000, normalmente
+ * junto con el perfil 'h2file' (-Dspring.profiles.active=h2file) para que los datos se conserven
+ */
+public class DatasetGeneratorApp {
+
+	public static void main(String[] args) {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(App.class)
+				.profiles(DatasetGenerator.PROFILE)
+				.web(WebApplicationType.NONE)
+				.run(args);
+		System.exit(SpringApplication.exit(context));
+	}
+
+}
@@ -0,0 +1,130 @@
+package springBootSimpleHTTPService.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Clase de la capa de Configuration de Spring
+ *
+ * Configura la cache de segundo nivel de Hibernate (JCache, implementada con Caffeine) utilizada por las
+ * entidades Employee y Role y por la cache de consultas. Cada region de la cache se crea de forma explicita
+ * con su tamaño maximo y su tiempo de vida, configurables en application.properties con el prefijo
+ * 'cache.{region}', y el CacheManager se entrega a Hibernate mediante un HibernatePropertiesCustomizer.
+ * Hibernate no crea regiones por su cuenta (hibernate.javax.cache.missing_cache_strategy=fail), de forma
+ * que una region sin configurar se detecta al arrancar la aplicacion
+ *
+ * Regiones:
+ * - Employee, Role: entidades por id, con estrategia READ_WRITE. Hibernate actualiza o invalida la entrada
+ *   al confirmar cada modificacion o eliminacion realizada a traves del EntityManager
+ * - EMPLOYEES_BY_ROLE_REGION: resultados de las paginas de empleados por role (proyecciones sobre EmployeeDto)
+ * - default-query-results-region: resto de consultas cacheables
+ * - default-update-timestamps-region: fecha de la ultima modificacion de cada tabla, utilizada para
+ *   descartar los resultados de consultas obtenidos antes de una modificacion. No debe expirar ni
+ *   descartar entradas, ya que tiene una entrada por tabla
+ *
+ * Las estadisticas de acierto y fallo por region se publican como hibernate.second.level.cache.* y
+ * hibernate.cache.query.* (hibernate.generate_statistics) y las de cada cache JCache como cache.*
+ *
+ * Anotaciones:
+ *
+ * @Configuration
+ * Indica que una clase declara uno o mas metodos @Bean y puede ser procesada por el contenedor Spring
+ * para generar definiciones de beans y solicitudes de servicio para esos beans en tiempo de ejecucion
+ */
+@Configuration
+public class CacheConfiguration {
+
+    public static final String EMPLOYEES_BY_ROLE_REGION = "springBootSimpleHTTPService.query.employeesByRole";
+
+    private static final String[] REGIONS = {
+            Employee.class.getName(),
+            Role.class.getName(),
+            EMPLOYEES_BY_ROLE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME
+    };
+
+    /**
+     * @return instancia de tipo CacheManager de Caffeine, con una cache por cada region de Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.employees.max-entries:100000}") long employeesMaxEntries,
+            @Value("${cache.employees.ttl:10m}") Duration employeesTtl,
+            @Value("${cache.roles.max-entries:100}") long rolesMaxEntries,
+            @Value("${cache.roles.ttl:1h}") Duration rolesTtl,
+            @Value("${cache.queries.max-entries:1000}") long queriesMaxEntries,
+            @Value("${cache.queries.ttl:1m}") Duration queriesTtl) {
+
+        CacheManager cacheManager =
+                Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        cacheManager.createCache(Employee.class.getName(), regionConfiguration(employeesMaxEntries, employeesTtl));
+        cacheManager.createCache(Role.class.getName(), regionConfiguration(rolesMaxEntries, rolesTtl));
+        cacheManager.createCache(EMPLOYEES_BY_ROLE_REGION, regionConfiguration(queriesMaxEntries, queriesTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(queriesMaxEntries, queriesTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(null, null));
+
+        return cacheManager;
+    }
+
+    /**
+     * @param cacheManager, CacheManager con las regiones de la cache de segundo nivel
+     * @return objeto de tipo HibernatePropertiesCustomizer que entrega el CacheManager a Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    /**
+     * Registra las metricas de cada region (tamaño, aciertos, fallos, descartes), con la etiqueta
+     * 'cache' igual al nombre de la region
+     *
+     * @param cacheManager, CacheManager con las regiones de la cache de segundo nivel
+     * @return objeto de tipo MeterBinder que registra las metricas en el MeterRegistry
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String region : REGIONS) {
+                new JCacheMetrics<>(cacheManager.getCache(region), Tags.empty()).bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * @param maxEntries, tipo Long, numero maximo de entradas, o null para no limitarlo
+     * @param ttl, tipo Duration, tiempo de vida de cada entrada desde que se escribe, o null para no limitarlo
+     * @return configuracion de una region, con las estadisticas habilitadas
+     */
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(Long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,115 @@
+package springBootSimpleHTTPService.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import springBootSimpleHTTPService.util.RejectionCountingPolicy;
+import springBootSimpleHTTPService.util.RequestContextTaskDecorator;
+
+/**
+ * Clase de la capa de Configuration de Spring
+ *
+ * Define un pool de hilos independiente para cada tipo de carga de trabajo de la API, de forma que
+ * una rafaga de peticiones costosas (por ejemplo, listados) no pueda agotar los hilos que atienden
+ * las peticiones ligeras (por ejemplo, la consulta de un empleado por id):
+ *
+ * - pointReadExecutor, lecturas de un unico recurso (GET /employees/{id}, GET /roles/{id})
+ * - collectionReadExecutor, lecturas de listados (GET /employees, /roles, busquedas por role)
+ * - writeExecutor, creacion, modificacion y eliminacion de un empleado
+ * - bulkExecutor, operaciones masivas (POST /employees/batch, /employees/import)
+ * - streamingExecutor, escritura de las respuestas en streaming (GET /employees/export), que retiene un hilo y una
+ *   conexion de la base de datos mientras dura la descarga, por lo que no comparte hilos con las operaciones masivas
+ * - changeFeedExecutor, envio de los eventos de GET /employees/changes/stream (ver EmployeeChangeFeed), de forma
+ *   que un cliente lento nunca retiene un hilo de los pools que atienden las peticiones
+ *
+ * Cada pool tiene un numero fijo de hilos y una cola acotada, configurables en application.properties
+ * con el prefijo 'executors.{nombre}'. Cuando la cola esta llena, la tarea se rechaza
+ * (TaskRejectedException) y la peticion se responde con 503 (Service Unavailable), en lugar
+ * de acumular peticiones en espera sin limite
+ *
+ * Anotaciones:
+ *
+ * @Configuration
+ * Indica que una clase declara uno o mas metodos @Bean y puede ser procesada por el contenedor Spring
+ * para generar definiciones de beans y solicitudes de servicio para esos beans en tiempo de ejecucion
+ *
+ * @Bean
+ * Anotación a nivel de metodo y un analogo directo del elemento XML <bean/>. El nombre del metodo
+ * es el nombre del bean, utilizado con @Qualifier en los controladores
+ */
+@Configuration
+public class ExecutorConfiguration {
+
+    public static final String POINT_READ_EXECUTOR = "pointReadExecutor";
+    public static final String COLLECTION_READ_EXECUTOR = "collectionReadExecutor";
+    public static final String WRITE_EXECUTOR = "writeExecutor";
+    public static final String BULK_EXECUTOR = "bulkExecutor";
+    public static final String STREAMING_EXECUTOR = "streamingExecutor";
+    public static final String CHANGE_FEED_EXECUTOR = "changeFeedExecutor";
+
+    @Bean(name = POINT_READ_EXECUTOR)
+    public ThreadPoolTaskExecutor pointReadExecutor(
+            @Value("${executors.point-read.pool-size:8}") int poolSize,
+            @Value("${executors.point-read.queue-capacity:200}") int queueCapacity) {
+        return buildExecutor("point-read-", poolSize, queueCapacity);
+    }
+
+    @Bean(name = COLLECTION_READ_EXECUTOR)
+    public ThreadPoolTaskExecutor collectionReadExecutor(
+            @Value("${executors.collection-read.pool-size:4}") int poolSize,
+            @Value("${executors.collection-read.queue-capacity:50}") int queueCapacity) {
+        return buildExecutor("collection-read-", poolSize, queueCapacity);
+    }
+
+    @Bean(name = WRITE_EXECUTOR)
+    public ThreadPoolTaskExecutor writeExecutor(
+            @Value("${executors.write.pool-size:4}") int poolSize,
+            @Value("${executors.write.queue-capacity:100}") int queueCapacity) {
+        return buildExecutor("write-", poolSize, queueCapacity);
+    }
+
+    @Bean(name = BULK_EXECUTOR)
+    public ThreadPoolTaskExecutor bulkExecutor(
+            @Value("${executors.bulk.pool-size:2}") int poolSize,
+            @Value("${executors.bulk.queue-capacity:4}") int queueCapacity) {
+        return buildExecutor("bulk-", poolSize, queueCapacity);
+    }
+
+    @Bean(name = STREAMING_EXECUTOR)
+    public ThreadPoolTaskExecutor streamingExecutor(
+            @Value("${executors.streaming.pool-size:2}") int poolSize,
+            @Value("${executors.streaming.queue-capacity:4}") int queueCapacity) {
+        return buildExecutor("streaming-", poolSize, queueCapacity);
+    }
+
+    @Bean(name = CHANGE_FEED_EXECUTOR)
+    public ThreadPoolTaskExecutor changeFeedExecutor(
+            @Value("${executors.change-feed.pool-size:2}") int poolSize,
+            @Value("${executors.change-feed.queue-capacity:100}") int queueCapacity) {
+        return buildExecutor("change-feed-", poolSize, queueCapacity);
+    }
+
+    /**
+     * Crea un pool de hilos de tamaño fijo: ThreadPoolExecutor solo crea hilos por encima del tamaño
+     * minimo cuando la cola esta llena, por lo que con una cola acotada el tamaño minimo y el maximo
+     * son el mismo
+     *
+     * @param threadNamePrefix, tipo String, prefijo del nombre de los hilos del pool
+     * @param poolSize, tipo int, numero de hilos del pool
+     * @param queueCapacity, tipo int, numero maximo de tareas en espera
+     * @return instancia de tipo ThreadPoolTaskExecutor
+     */
+    private ThreadPoolTaskExecutor buildExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new RejectionCountingPolicy());
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
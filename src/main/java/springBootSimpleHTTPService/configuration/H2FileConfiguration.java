@@ -0,0 +1,49 @@
+package springBootSimpleHTTPService.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import springBootSimpleHTTPService.util.SchemaVersionInitializer;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Clase de la capa de Configuration de Spring
+ *
+ * Activa, con el perfil 'h2file' (spring.profiles.active=h2file), la base de datos H2 en fichero
+ * (application-h2file.properties). Los datos se conservan entre arranques y los scripts de inicializacion
+ * (spring.datasource.schema y spring.datasource.data) solo se ejecutan cuando cambia su contenido
+ * (ver SchemaVersionInitializer), en lugar de en cada arranque (spring.datasource.initialization-mode=never)
+ *
+ * Anotaciones:
+ *
+ * @Profile
+ * Indica que la clase solo se registra en el contexto de Spring cuando el perfil indicado esta activo
+ *
+ * @Bean
+ * El metodo del EntityManagerFactoryDependsOnPostProcessor es estatico para que Spring pueda crearlo antes
+ * que el resto de beans. Hace que el EntityManagerFactory dependa del inicializador, de forma que Hibernate
+ * y los repositorios no acceden a las tablas antes de que existan
+ */
+@Configuration
+@Profile("h2file")
+public class H2FileConfiguration {
+
+    public static final String SCHEMA_VERSION_INITIALIZER = "schemaVersionInitializer";
+
+    @Bean(name = SCHEMA_VERSION_INITIALIZER)
+    public SchemaVersionInitializer schemaVersionInitializer(DataSource dataSource,
+                                                             @Value("${spring.datasource.schema}") Resource schema,
+                                                             @Value("${spring.datasource.data}") Resource data) {
+        return new SchemaVersionInitializer(dataSource, List.of(schema, data));
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaVersion() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SCHEMA_VERSION_INITIALIZER);
+    }
+}
@@ -0,0 +1,118 @@
+package springBootSimpleHTTPService.configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.method.HandlerMethod;
+import springBootSimpleHTTPService.service.EmployeeChangeFeed;
+import springBootSimpleHTTPService.util.RejectionCountingPolicy;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Clase de la capa de Configuration de Spring
+ *
+ * Completa las metricas de Micrometer que Spring Boot Actuator registra automaticamente (latencia de las
+ * peticiones HTTP, pool de conexiones Hikari, estadisticas de Hibernate, memoria, GC e hilos de la JVM),
+ * publicadas en formato Prometheus en el puerto de gestion (management.server.port):
+ *
+ * - la etiqueta 'handler' (Controlador.metodo) en las metricas http.server.requests, que identifica el
+ *   metodo del controlador que atiende la peticion, ademas de la plantilla de URI
+ * - las metricas de los pools de hilos de ExecutorConfiguration (executor.*), incluidas las tareas rechazadas
+ * - las metricas del flujo de cambios de empleados (employees.changes.*): suscriptores, eventos publicados
+ *   y suscriptores desconectados por no consumir los eventos a tiempo
+ *
+ * Anotaciones:
+ *
+ * @Configuration
+ * Indica que una clase declara uno o mas metodos @Bean y puede ser procesada por el contenedor Spring
+ * para generar definiciones de beans y solicitudes de servicio para esos beans en tiempo de ejecucion
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    private static final Tag UNKNOWN_HANDLER = Tag.of("handler", "none");
+
+    /**
+     * @return contribuidor de etiquetas de las metricas http.server.requests, que agrega la etiqueta 'handler'
+     */
+    @Bean
+    public WebMvcTagsContributor handlerTagsContributor() {
+        return new WebMvcTagsContributor() {
+
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Collections.singletonList(handlerTag(handler));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Collections.singletonList(handlerTag(handler));
+            }
+        };
+    }
+
+    /**
+     * Registra las metricas de cada pool de hilos con la etiqueta 'name' igual al nombre del bean:
+     * hilos, tareas activas, en cola, completadas, tiempo de ejecucion y de espera, y tareas rechazadas
+     *
+     * @param executors, mapa de tipos ThreadPoolTaskExecutor por nombre de bean
+     * @return objeto de tipo MeterBinder que registra las metricas en el MeterRegistry
+     */
+    @Bean
+    public MeterBinder executorMetrics(Map<String, ThreadPoolTaskExecutor> executors) {
+        return registry -> executors.forEach((name, executor) -> {
+            ThreadPoolExecutor threadPoolExecutor = executor.getThreadPoolExecutor();
+            new ExecutorServiceMetrics(threadPoolExecutor, name, Tags.empty()).bindTo(registry);
+            if (threadPoolExecutor.getRejectedExecutionHandler() instanceof RejectionCountingPolicy) {
+                RejectionCountingPolicy policy =
+                        (RejectionCountingPolicy) threadPoolExecutor.getRejectedExecutionHandler();
+                FunctionCounter.builder("executor.rejected", policy, RejectionCountingPolicy::getRejectedCount)
+                        .tags("name", name)
+                        .description("The number of tasks rejected because the queue was full")
+                        .baseUnit("tasks")
+                        .register(registry);
+            }
+        });
+    }
+
+    /**
+     * @param employeeChangeFeed, instancia de tipo EmployeeChangeFeed
+     * @return objeto de tipo MeterBinder que registra las metricas del flujo de cambios en el MeterRegistry
+     */
+    @Bean
+    public MeterBinder employeeChangeFeedMetrics(EmployeeChangeFeed employeeChangeFeed) {
+        return registry -> {
+            Gauge.builder("employees.changes.subscribers", employeeChangeFeed, EmployeeChangeFeed::getSubscriberCount)
+                    .description("The number of connected change feed subscribers")
+                    .register(registry);
+            FunctionCounter.builder("employees.changes.published", employeeChangeFeed, EmployeeChangeFeed::getPublishedCount)
+                    .description("The number of employee changes published")
+                    .baseUnit("events")
+                    .register(registry);
+            FunctionCounter.builder("employees.changes.evicted", employeeChangeFeed, EmployeeChangeFeed::getEvictedCount)
+                    .description("The number of subscribers disconnected because their buffer was full")
+                    .register(registry);
+        };
+    }
+
+    private static Tag handlerTag(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return Tag.of("handler", handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return UNKNOWN_HANDLER;
+    }
+}
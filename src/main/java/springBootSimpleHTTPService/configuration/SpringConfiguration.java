@@ -1,7 +1,8 @@
 package springBootSimpleHTTPService.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
@@ -44,6 +45,8 @@ import java.util.TimeZone;
 @EnableAsync
 public class SpringConfiguration {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpringConfiguration.class);
+
     /**
      * Especializacion de PlaceholderConfigurerSupport que resuelve los marcadores de posición, $ {...},
      * dentro de los valores de propiedades de definicion de un bean y las anotaciones @Value contra
@@ -76,7 +79,7 @@ public class SpringConfiguration {
      */
     @Bean
     public static PropertySourcesPlaceholderConfigurer propertyConfigInDev() {
-        System.out.println("OK : PropertySourcesPlaceholderConfigurer propertyConfigInDev ...");
+        LOGGER.debug("OK : PropertySourcesPlaceholderConfigurer propertyConfigInDev ...");
         return new PropertySourcesPlaceholderConfigurer();
     }
 
@@ -90,7 +93,7 @@ public class SpringConfiguration {
     @Bean
     public ClientHttpRequestFactory getClientHttpRequestFactory() {
         SimpleClientHttpRequestFactory ret = new SimpleClientHttpRequestFactory();
-        System.out.println("OK : getClientHttpRequestFactory ...");
+        LOGGER.debug("OK : getClientHttpRequestFactory ...");
         ret.setReadTimeout(10000); // 10 sec
         return ret;
     }
@@ -106,22 +109,10 @@ public class SpringConfiguration {
      */
     @Bean
     public RestTemplate getRestTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
-        System.out.println("OK : getRestTemplate ...");
+        LOGGER.debug("OK : getRestTemplate ...");
         return new RestTemplate(clientHttpRequestFactory);
     }
 
-    /**
-     * Realiza el mapeo de objetos, mantiene la configuracion y almacena TypeMaps, que
-     * encapsulan la configuración de mapeo para un par de tipos origen y destino
-     *
-     * @return instancia de tipo ModelMapper, para el mapero de objetos de tipo fuente y destino
-     */
-    @Bean
-    public ModelMapper getModelMapper() {
-        System.out.println("OK : getModelMapper ...");
-        return new ModelMapper();
-    }
-
     /**
      * Proporciona funcionalidad para leer y escribir JSON, ya sea hacia y desde POJOs basicos,
      * o hacia y desde un modelo de arbol JSON de proposito general (JsonNode), asi como funcionalidad
@@ -138,7 +129,7 @@ public class SpringConfiguration {
      */
     @Bean
     public ObjectMapper getObjectMapper() {
-        System.out.println("OK : getObjectMapper ...");
+        LOGGER.debug("OK : getObjectMapper ...");
         ObjectMapper mapper = new ObjectMapper();
         mapper.setTimeZone(TimeZone.getDefault());
         return mapper;
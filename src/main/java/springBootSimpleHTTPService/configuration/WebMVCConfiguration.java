@@ -1,10 +1,22 @@
 package springBootSimpleHTTPService.configuration;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import springBootSimpleHTTPService.util.AsyncTimeoutInterceptor;
+import springBootSimpleHTTPService.util.JobEnumToStringConverter;
+import springBootSimpleHTTPService.util.RequestLoggingInterceptor;
+import springBootSimpleHTTPService.util.StringToJobEnumConverter;
 
 
 /**
@@ -43,6 +55,25 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 //@EnableWebMvc
 public class WebMVCConfiguration implements WebMvcConfigurer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebMVCConfiguration.class);
+
+    private final ThreadPoolTaskExecutor streamingExecutor;
+    private final RequestLoggingInterceptor requestLoggingInterceptor;
+
+    /**
+     * Constructor de la clase, parametrizado con el pool de hilos de las respuestas en streaming
+     * y el interceptor que registra las peticiones en el log
+     *
+     * @param streamingExecutor, instancia de tipo ThreadPoolTaskExecutor, definida en ExecutorConfiguration
+     * @param requestLoggingInterceptor, instancia de tipo RequestLoggingInterceptor
+     */
+    @Autowired
+    public WebMVCConfiguration(@Qualifier(ExecutorConfiguration.STREAMING_EXECUTOR) ThreadPoolTaskExecutor streamingExecutor,
+                               RequestLoggingInterceptor requestLoggingInterceptor) {
+        this.streamingExecutor = streamingExecutor;
+        this.requestLoggingInterceptor = requestLoggingInterceptor;
+    }
+
     /**
      * Crea un controlador de recursos proporcionando los patrones de ruta de URL para lo cual se
      * debe invocar al controlador para que sirva recursos estáticos (por ejemplo, "/**").
@@ -59,11 +90,51 @@ public class WebMVCConfiguration implements WebMvcConfigurer {
      */
    @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        System.out.println("OK : addResourceHandlers ...");
+        LOGGER.debug("OK : addResourceHandlers ...");
         registry.addResourceHandler("/resources/**")
                 .addResourceLocations("/resources/");
     }
 
+    /**
+     * Registra los convertidores de tipos utilizados en la vinculacion de variables de ruta y parametros
+     * de la solicitud web, ademas de los predeterminados.
+     * En este caso, los convertidores entre el nombre de un empleo (String) y su valor de JobEnum
+     *
+     * @param registry, objeto de tipo FormatterRegistry, registro de convertidores y formateadores
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(new StringToJobEnumConverter());
+        registry.addConverter(new JobEnumToStringConverter());
+    }
+
+    /**
+     * Registra los interceptores de las peticiones a los controladores.
+     * En este caso, el interceptor que registra en el log, de forma muestreada, cada peticion
+     *
+     * @param registry, objeto de tipo InterceptorRegistry, registro de interceptores
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestLoggingInterceptor);
+    }
+
+    /**
+     * Configura el procesamiento de las peticiones asincronas.
+     * Las respuestas de tipo StreamingResponseBody (exportacion de empleados) se escriben en su propio pool
+     * de hilos, acotado, en lugar de en el SimpleAsyncTaskExecutor por defecto, que crea un hilo nuevo por
+     * peticion sin ningun limite. Una descarga lenta no retiene los hilos de las operaciones masivas.
+     * Ademas, registra el interceptor que permite a la exportacion utilizar un tiempo maximo mayor que el
+     * global (spring.mvc.async.request-timeout)
+     *
+     * @param configurer, objeto de tipo AsyncSupportConfigurer
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
+    }
+
     /**
      * Configura el procesamiento de solicitudes de origen cruzado global.
      * El mapeo de las configuraciones CORS se aplican a anotaciones de controladores,
@@ -81,7 +152,7 @@ public class WebMVCConfiguration implements WebMvcConfigurer {
      */
     @Override
     public void addCorsMappings(CorsRegistry registry) {
-        System.out.println("OK : addCorsMappings ...");
+        LOGGER.debug("OK : addCorsMappings ...");
         registry.addMapping("/**").allowedOrigins("http://localhost:8181");
     }
 
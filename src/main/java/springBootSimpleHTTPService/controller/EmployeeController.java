@@ -1,27 +1,74 @@
 package springBootSimpleHTTPService.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.mediatype.problem.Problem;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import springBootSimpleHTTPService.configuration.ExecutorConfiguration;
 import springBootSimpleHTTPService.controller.exception.EmployeeNotFoundException;
+import springBootSimpleHTTPService.controller.exception.EmployeePreconditionFailedException;
 import springBootSimpleHTTPService.controller.exception.RoleNotFoundException;
+import springBootSimpleHTTPService.dto.BatchItemResultDto;
+import springBootSimpleHTTPService.dto.BulkResultDto;
 import springBootSimpleHTTPService.dto.EmployeeDto;
+import springBootSimpleHTTPService.dto.ImportResultDto;
 import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.JobEnum;
 import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.repository.EmployeePatch;
+import springBootSimpleHTTPService.repository.EmployeeSearchCriteria;
+import springBootSimpleHTTPService.service.EmployeeChangeFeed;
+import springBootSimpleHTTPService.service.IEmployeeImportService;
 import springBootSimpleHTTPService.service.IEmployeeService;
 import springBootSimpleHTTPService.service.IRoleService;
+import springBootSimpleHTTPService.util.AsyncTimeoutInterceptor;
 import springBootSimpleHTTPService.util.EmployeeModelAssembler;
+import springBootSimpleHTTPService.util.EntityTags;
+import springBootSimpleHTTPService.util.QueryBudget;
 
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -56,15 +103,50 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  * @PutMapping
  * Anotacion compuesta que actua como un atajo para @RequestMapping(method = RequestMethod.PUT).
  *
+ * @PatchMapping
+ * Anotacion compuesta que actua como un atajo para @RequestMapping(method = RequestMethod.PATCH).
+ *
  * @DeleteMapping
  * Anotacion compuesta que actua como un atajo para @RequestMapping(method = RequestMethod.DELETE).
+ *
+ * Cada metodo se ejecuta en el pool de hilos correspondiente a su tipo de carga de trabajo (ver
+ * ExecutorConfiguration) y devuelve un CompletableFuture, de forma que el hilo de Tomcat queda libre
+ * mientras tanto y una saturacion de un tipo de peticiones no afecta a los demas
  */
 @RestController
 public class EmployeeController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeController.class);
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
     private final IEmployeeService iEmployeeService;
     private final IRoleService iRoleService;
+    private final IEmployeeImportService iEmployeeImportService;
+    private final EmployeeChangeFeed employeeChangeFeed;
     private final EmployeeModelAssembler employeeModelAssembler;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Executor pointReadExecutor;
+    private final Executor collectionReadExecutor;
+    private final Executor writeExecutor;
+    private final Executor bulkExecutor;
+
+    @Value("${employees.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${employees.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${employees.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    @Value("${employees.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
 
     /**
      * Constructor de la clase, parametrizado con las interfaces IEmployeeService, IRoleService y la clase
@@ -75,77 +157,195 @@ public class EmployeeController {
      *                          en la que se exponen los servicios o funcionalidades accesibles via HTTP
      * @param iRoleService, interfaz de tipo IRoleService, implementada por la clase RoleServiceImpl,
      *                      en la que se exponen los servicios o funcionalidades accesibles via HTTP
+     * @param iEmployeeImportService, interfaz de tipo IEmployeeImportService, implementada por la clase
+     *                                EmployeeImportServiceImpl, importa empleados desde un CSV
+     * @param employeeChangeFeed, instancia de tipo EmployeeChangeFeed, flujo de cambios de los empleados
      * @param employeeModelAssembler, instancia de tipo EmployeeModelAssembler, convierte un objeto de dominio en un
      *                            RepresentationModel, esto es, un EntityModel que envuelve al objeto de dominio
      *                            y lo agrega enlaces
+     * @param objectMapper, instancia de tipo ObjectMapper, utilizada para serializar a JSON la exportacion
+     *                      de empleados
+     * @param validator, instancia de tipo Validator, utilizada para validar individualmente cada empleado
+     *                   de una peticion de creacion por lotes
+     * @param pointReadExecutor, instancia de tipo Executor, pool de hilos de las lecturas de un unico empleado
+     * @param collectionReadExecutor, instancia de tipo Executor, pool de hilos de las lecturas de listados
+     * @param writeExecutor, instancia de tipo Executor, pool de hilos de las modificaciones de un empleado
+     * @param bulkExecutor, instancia de tipo Executor, pool de hilos de las operaciones masivas
      */
     @Autowired
     public EmployeeController(IEmployeeService iEmployeeService, IRoleService iRoleService,
-                              EmployeeModelAssembler employeeModelAssembler) {
+                              IEmployeeImportService iEmployeeImportService,
+                              EmployeeChangeFeed employeeChangeFeed,
+                              EmployeeModelAssembler employeeModelAssembler,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              @Qualifier(ExecutorConfiguration.POINT_READ_EXECUTOR) Executor pointReadExecutor,
+                              @Qualifier(ExecutorConfiguration.COLLECTION_READ_EXECUTOR) Executor collectionReadExecutor,
+                              @Qualifier(ExecutorConfiguration.WRITE_EXECUTOR) Executor writeExecutor,
+                              @Qualifier(ExecutorConfiguration.BULK_EXECUTOR) Executor bulkExecutor) {
         this.iEmployeeService = iEmployeeService;
         this.iRoleService = iRoleService;
+        this.iEmployeeImportService = iEmployeeImportService;
+        this.employeeChangeFeed = employeeChangeFeed;
         this.employeeModelAssembler = employeeModelAssembler;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.pointReadExecutor = pointReadExecutor;
+        this.collectionReadExecutor = collectionReadExecutor;
+        this.writeExecutor = writeExecutor;
+        this.bulkExecutor = bulkExecutor;
     }
 
     /**
      * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/employees
      *
      * Accede a la capa de servicio EmployeeServiceImpl mediante su interface IEmployeeService
-     * y hace uso del metodo 'listEmployees()' para recuperar un listado de tipos EmployeeDto
-     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio
+     * y hace uso del metodo 'listEmployees(afterId, limit)' para recuperar una pagina de tipos EmployeeDto
+     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio.
+     *
+     * La paginacion es por cursor (keyset): cada pagina contiene los empleados con id mayor que 'after',
+     * ordenados por id. Si existen mas empleados, se agrega un enlace 'next' que apunta a la pagina siguiente
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un listado de tipos EmployeeDto,
-     * que contiene todos los empleados disponibles en el sistema, junto con enlaces agregados
+     * @param after, tipo Long anotado con @RequestParam, opcional. Indica el id del ultimo empleado
+     *               de la pagina anterior. Si no se indica, se devuelve la primera pagina
+     * @param limit, tipo Integer anotado con @RequestParam, opcional. Indica el tamaño de pagina,
+     *               que nunca supera el maximo configurado en 'employees.page.max-size'
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de tipos EmployeeDto,
+     * que contiene una pagina de los empleados disponibles en el sistema, junto con enlaces agregados
      */
     @GetMapping("/employees")
-    public ResponseEntity<?> allEmployees(){
+    @QueryBudget(1) //empleados y roles en una consulta (proyeccion sobre EmployeeDto)
+    public CompletableFuture<ResponseEntity<?>> allEmployees(@RequestParam(name="after", required=false) Long after,
+                                                             @RequestParam(name="limit", required=false) Integer limit){
 
-        List<EntityModel<EmployeeDto>> employees = iEmployeeService.listEmployees().stream()
-                .map(employeeModelAssembler::toModel)
-                .collect(Collectors.toList());
+        return CompletableFuture.supplyAsync(() -> {
+            Long afterId = resolveCursor(after);
+            int pageSize = resolvePageSize(limit);
+
+            CollectionModel<EntityModel<EmployeeDto>> collectionModel = toKeysetCollectionModel(
+                    iEmployeeService.listEmployees(afterId, pageSize + 1), pageSize,
+                    linkTo(methodOn(EmployeeController.class).allEmployees(afterId, pageSize)).withSelfRel(),
+                    lastId -> linkTo(methodOn(EmployeeController.class).allEmployees(lastId, pageSize))
+                            .withRel(IanaLinkRelations.NEXT));
+
+            return ResponseEntity
+                    .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(collectionModel);
+        }, collectionReadExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/employees/export
+     *
+     * Exporta todos los empleados del sistema en formato NDJSON (newline-delimited JSON): un objeto
+     * de tipo EmployeeDto en formato JSON por linea, sin enlaces agregados.
+     *
+     * La respuesta se escribe en streaming mediante un StreamingResponseBody, a medida que se leen las
+     * filas de la base de datos a traves del metodo 'forEachEmployee(action)' de la capa de servicio,
+     * por lo que el primer byte se envia sin esperar a recorrer la tabla y la memoria utilizada
+     * no depende del numero de empleados.
+     *
+     * La escritura dispone de 'employees.export.timeout-ms' milisegundos (ver AsyncTimeoutInterceptor), en lugar
+     * del tiempo maximo global de las peticiones asincronas, que es mucho menor
+     *
+     * @param webRequest, objeto de tipo WebRequest, en el que se indica el tiempo maximo de la exportacion
+     *
+     * @return objeto de tipo ResponseEntity, cuyo cuerpo es un StreamingResponseBody que escribe
+     * los empleados en el flujo de salida de la respuesta
+     */
+    @GetMapping(value = "/employees/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @QueryBudget(1) //un unico cursor sobre la tabla
+    public ResponseEntity<StreamingResponseBody> exportEmployees(WebRequest webRequest) {
+
+        AsyncTimeoutInterceptor.setTimeout(webRequest, exportTimeoutMs);
+        ObjectWriter writer = objectMapper.writerFor(EmployeeDto.class);
 
-        CollectionModel<EntityModel<EmployeeDto>> collectionModel =
-                CollectionModel.of(employees,
-                        linkTo(methodOn(EmployeeController.class).allEmployees()).withSelfRel());
+        StreamingResponseBody body = outputStream -> {
+            iEmployeeService.forEachEmployee(employee -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(employee));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
 
         return ResponseEntity
-                .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                .body(collectionModel);
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 
+    /**
+     * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/employees/changes/stream
+     *
+     * Envia los cambios confirmados en los empleados (creacion, modificacion y eliminacion) como Server-Sent
+     * Events (text/event-stream), mediante la clase EmployeeChangeFeed de la capa de servicio. Cada evento
+     * contiene un objeto de tipo EmployeeChangeDto en formato JSON y un id; al reconectarse, el navegador
+     * (EventSource) envia la cabecera Last-Event-ID y recibe los eventos que se ha perdido, o un evento
+     * 'reset' si ya no estan disponibles, ante el que debe volver a leer el listado completo.
+     * La respuesta no accede a la base de datos
+     *
+     * Ejemplo: curl -N http://localhost:8181/employees/changes/stream
+     *
+     * @param lastEventId, tipo String anotado con @RequestHeader, opcional. Id del ultimo evento recibido
+     *
+     * @return objeto de tipo SseEmitter, en el que se escriben los eventos a medida que se publican
+     */
+    @GetMapping(value = "/employees/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(0) //los eventos se publican desde la capa de servicio, sin consultas
+    public SseEmitter streamEmployeeChanges(@RequestHeader(name=LAST_EVENT_ID_HEADER, required=false) String lastEventId) {
+        return employeeChangeFeed.subscribe(lastEventId);
     }
 
     /**
      * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/employees/{valor numerico}
      *
      * Accede a la capa de servicio EmployeeServiceImpl mediante su interface IEmployeeService
-     * y hace uso del metodo 'findEmployeeById(id)' para recuperar un objeto de tipo EmployeeDto
-     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio
+     * y hace uso del metodo 'findEmployeeWithRoleById(id)' para recuperar un objeto de tipo EmployeeDto
+     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio.
+     * El empleado y su role se recuperan por clave primaria de la cache de segundo nivel de Hibernate
+     * (ver CacheConfiguration), y solo se consulta la base de datos si no estan en la cache
+     *
+     * La respuesta incluye una ETag fuerte, calculada a partir de la version del empleado, de su role
+     * y de la version del registro de roles. Si la peticion incluye la cabecera If-None-Match con la
+     * ETag actual, se responde 304 (Not Modified) sin cuerpo y sin construir el modelo
      *
      * @param id, tipo Long anotado con @PathVariable para indicar que es un parametro de metodo
      *            y debe estar vinculado a una variable de tipo plantilla de URI (URI template)
      *            Indica el id del empleado que se quiere obtener
+     * @param webRequest, objeto de tipo WebRequest, utilizado para evaluar la cabecera If-None-Match
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un objeto de tipo EmployeeDto,
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo EmployeeDto,
      * que contiene un empleado concreto del sistema, determinado por el valor numerico de su id,
      * junto con enlaces agregados
      */
     @GetMapping("/employees/{id}")
-    public ResponseEntity<?> oneEmployee(@PathVariable(name="id") Long id) {
-
-        Employee employeeEntity = iEmployeeService.findEmployeeById(id)
-                .orElseThrow(() -> new EmployeeNotFoundException(id));
+    @QueryBudget(2) //empleado y role por clave primaria, ninguna consulta con la cache de segundo nivel
+    public CompletableFuture<ResponseEntity<?>> oneEmployee(@PathVariable(name="id") Long id, WebRequest webRequest) {
 
-        Optional<Role> role = iRoleService.findRoleById(employeeEntity.getRole().getId());
+        return CompletableFuture.supplyAsync(() -> {
+            Employee employeeEntity = iEmployeeService.findEmployeeWithRoleById(id)
+                    .orElseThrow(() -> new EmployeeNotFoundException(id));
 
-        employeeEntity.setRole(role.get());
+            //checkNotModified agrega la cabecera ETag a la respuesta, tanto en 304 como en 201
+            if (webRequest.checkNotModified(EntityTags.employee(employeeEntity, iRoleService.getRolesVersion()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
 
-        EntityModel<EmployeeDto> entityModel = employeeModelAssembler.toModel(employeeEntity);
+            EntityModel<EmployeeDto> entityModel = employeeModelAssembler.toModel(employeeEntity);
 
-        System.out.println("Employee By Id: \n"+employeeEntity);
+            LOGGER.debug("Employee By Id: {}", employeeEntity);
 
-        return ResponseEntity
-                .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                .body(entityModel);
+            return ResponseEntity
+                    .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(entityModel);
+        }, pointReadExecutor);
     }
 
     /**
@@ -160,32 +360,172 @@ public class EmployeeController {
      *                     El cuerpo de la solicitud se pasa en formato JSON, segun el tipo de contenido de la solicitud.
      *                     Se aplica la validacion automatica anotando el argumento con @Valid
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un objeto de tipo EmployeeDto,
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo EmployeeDto,
      * que contiene el nuevo empleado creado, junto con enlaces agregados
      */
     @PostMapping("/employees")
-    public ResponseEntity<?> newEmployee(@Valid @RequestBody Employee newEmployee) {
+    @QueryBudget(2) //INSERT y, cada 50 ids, la siguiente llamada a la secuencia
+    public CompletableFuture<ResponseEntity<?>> newEmployee(@Valid @RequestBody Employee newEmployee) {
 
-        if (null != newEmployee.getRole().getId()) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (null != newEmployee.getRole().getId()) {
 
-            newEmployee.setRole(iRoleService.findRoleById(newEmployee.getRole().getId()).get());
+                newEmployee.setRole(iRoleService.findRoleById(newEmployee.getRole().getId()).get());
 
-            EntityModel<EmployeeDto> entityModel = employeeModelAssembler.toModel(iEmployeeService.saveEmployee(newEmployee));
+                EntityModel<EmployeeDto> entityModel = employeeModelAssembler.toModel(iEmployeeService.saveEmployee(newEmployee));
 
-            System.out.println("New Employee: \n" + newEmployee.toString());
+                LOGGER.debug("New Employee: {}", newEmployee);
+
+                return ResponseEntity
+                        .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                        .body(entityModel);
+            }
 
             return ResponseEntity
-                    .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                    .body(entityModel);
-        }
+                    .status(HttpStatus.BAD_REQUEST)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                    .body(Problem.create()
+                            .withTitle("Bad Request. Please provide a valid JSON value")
+                            .withDetail(employeeModelAssembler.getJsonSchema()));
+        }, writeExecutor);
+    }
 
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
-                .body(Problem.create()
-                        .withTitle("Bad Request. Please provide a valid JSON value")
-                        .withDetail(employeeModelAssembler.getJsonSchema()));
+    /**
+     * Representa el mapeo de una peticion HTTP POST, a la URL http://localhost:8181/employees/batch
+     *
+     * Crea varios empleados en una unica peticion. Cada elemento del listado se valida individualmente;
+     * los roles se resuelven una unica vez por id distinto, mediante el metodo 'findRolesByIds(ids)'
+     * de la capa de servicio RoleServiceImpl, y los empleados validos se guardan en una unica transaccion,
+     * en lotes JDBC, mediante el metodo 'saveEmployees(employees)' de la capa de servicio EmployeeServiceImpl
+     *
+     * @param newEmployees, listado de tipos Employee anotado con @RequestBody para indicar que el parametro
+     *                      de metodo debe estar vinculado al cuerpo de la solicitud web, en formato JSON.
+     *                      El numero de elementos no puede superar 'employees.batch.max-items'
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de tipos BatchItemResultDto,
+     * con el resultado de cada elemento en el mismo orden de la peticion. El estado de la respuesta es
+     * 201 (Created) si se han creado todos los empleados, o 207 (Multi-Status) si se ha rechazado alguno
+     */
+    @PostMapping("/employees/batch")
+    public CompletableFuture<ResponseEntity<?>> newEmployees(@RequestBody List<Employee> newEmployees) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            if (newEmployees.size() > maxBatchItems) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Bad Request. Too many employees in a single batch")
+                                .withDetail("A batch can contain at most " + maxBatchItems + " employees"));
+            }
+
+            Set<Long> roleIds = new HashSet<>();
+            for (Employee employee : newEmployees) {
+                if (employee != null && employee.getRole() != null && employee.getRole().getId() != null) {
+                    roleIds.add(employee.getRole().getId());
+                }
+            }
+            Map<Long, Role> roles = iRoleService.findRolesByIds(roleIds);
 
+            BatchItemResultDto[] results = new BatchItemResultDto[newEmployees.size()];
+            List<Integer> validIndexes = new ArrayList<>();
+            List<Employee> validEmployees = new ArrayList<>();
+
+            for (int i = 0; i < newEmployees.size(); i++) {
+                List<String> errors = validateBatchItem(newEmployees.get(i), roles);
+                if (errors.isEmpty()) {
+                    Employee employee = newEmployees.get(i);
+                    employee.setId(null);
+                    employee.setRole(roles.get(employee.getRole().getId()));
+                    validIndexes.add(i);
+                    validEmployees.add(employee);
+                } else {
+                    results[i] = BatchItemResultDto.rejected(i, errors);
+                }
+            }
+
+            List<Employee> savedEmployees = iEmployeeService.saveEmployees(validEmployees);
+
+            for (int i = 0; i < savedEmployees.size(); i++) {
+                int index = validIndexes.get(i);
+                results[index] = BatchItemResultDto.created(index, savedEmployees.get(i).getId());
+            }
+
+            LOGGER.debug("New Employees (batch): {} created, {} rejected", savedEmployees.size(),
+                    newEmployees.size() - savedEmployees.size());
+
+            return ResponseEntity
+                    .status(savedEmployees.size() == newEmployees.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                    .body(Arrays.asList(results));
+        }, bulkExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP POST, a la URL http://localhost:8181/employees/import
+     *
+     * Importa empleados desde un fichero CSV (text/csv) con cabecera y las columnas firstName, lastName y
+     * jobTitle, mediante el metodo 'importEmployees(reader)' de la capa de servicio EmployeeImportServiceImpl.
+     * El cuerpo de la peticion se lee a medida que llega, sin cargarlo en memoria, y puede enviarse
+     * comprimido con la cabecera Content-Encoding: gzip. Los empleados se guardan en bloques que se
+     * confirman por separado, por lo que una linea erronea solo rechaza esa linea.
+     * El juego de caracteres es el indicado en el Content-Type, o UTF-8 si no se indica
+     *
+     * Ejemplo: curl -X POST --data-binary @employees.csv.gz -H "Content-Type: text/csv"
+     *          -H "Content-Encoding: gzip" http://localhost:8181/employees/import
+     *
+     * @param body, objeto de tipo InputStream, cuerpo de la peticion
+     * @param contentType, objeto de tipo MediaType, tipo de contenido de la peticion
+     * @param contentEncoding, tipo String anotado con @RequestHeader, opcional. Codificacion del cuerpo
+     *                        de la peticion, 'gzip' o 'identity'
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo ImportResultDto, con el numero de empleados
+     * creados y rechazados y los errores de las lineas rechazadas. El estado de la respuesta es
+     * 201 (Created) si se han creado todos los empleados, o 207 (Multi-Status) en caso contrario
+     */
+    @PostMapping(value = "/employees/import", consumes = TEXT_CSV_VALUE)
+    public CompletableFuture<ResponseEntity<?>> importEmployees(
+            InputStream body,
+            @RequestHeader(name = HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestHeader(name = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            boolean gzip = contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip");
+            if (contentEncoding != null && !gzip && !contentEncoding.trim().equalsIgnoreCase("identity")) {
+                return ResponseEntity
+                        .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Unsupported Media Type. Unsupported Content-Encoding")
+                                .withDetail("Supported encodings are gzip and identity"));
+            }
+
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+            ImportResultDto result;
+
+            try {
+                InputStream inputStream = gzip ? new GZIPInputStream(body, 65536) : body;
+                try (Reader reader = new BufferedReader(new InputStreamReader(inputStream, charset), 65536)) {
+                    result = iEmployeeImportService.importEmployees(reader);
+                }
+            } catch (IOException e) {
+                //la cabecera gzip no es valida
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Bad Request. Unreadable request body")
+                                .withDetail(e.getMessage()));
+            }
+
+            LOGGER.debug("Import Employees: {} created, {} rejected", result.getCreated(), result.getRejected());
+
+            return ResponseEntity
+                    .status(result.isComplete() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                    .body(result);
+        }, bulkExecutor);
     }
 
     /**
@@ -194,7 +534,12 @@ public class EmployeeController {
      * Accede a la capa de servicio EmployeeServiceImpl mediante su interface IEmployeeService
      * y hace uso del metodo 'saveEmployee(employee)' para salvar el objeto modificado o crear uno nuevo,
      * en caso de que no exista en el sistema un empleado con un id que corresponda al valor numerico
-     * pasado en la URL
+     * pasado en la URL.
+     *
+     * Si la peticion incluye la cabecera If-Match, solo se modifica el empleado si la ETag indicada
+     * se corresponde con su version actual; en caso contrario se responde 412 (Precondition Failed).
+     * Si otra peticion modifica el empleado entre su lectura y su escritura, la columna 'version'
+     * lo detecta y se responde 409 (Conflict), en lugar de sobrescribir la modificacion anterior
      *
      * @param newEmployee, tipo Employee anotado con @RequestBody para indicar que el parametro de metodo
      *                     debe estar vinculada al cuerpo de la solicitud web.
@@ -205,68 +550,259 @@ public class EmployeeController {
      *            y debe estar vinculado a una variable de tipo plantilla de URI (URI template)
      *            Indica el id del empleado a modificar. En caso de que no exista un empleado
      *            con ese id, crea uno nuevo
+     * @param ifMatch, tipo String anotado con @RequestHeader, opcional. Valor de la cabecera If-Match,
+     *                 con la ETag del empleado obtenida en una lectura anterior
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un objeto de tipo EmployeeDto,
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo EmployeeDto,
      * que contiene el empleado modificado (o nuevo), junto con enlaces agregados
      */
     @PutMapping("/employees/{id}")
-    public ResponseEntity<?> updateEmployee(@Valid @RequestBody Employee newEmployee, @PathVariable(name="id") Long id) {
+    @QueryBudget(3) //lectura, lectura del merge y UPDATE
+    public CompletableFuture<ResponseEntity<?>> updateEmployee(@Valid @RequestBody Employee newEmployee, @PathVariable(name="id") Long id,
+                                                               @RequestHeader(name=HttpHeaders.IF_MATCH, required=false) String ifMatch) {
 
-        if (null != newEmployee.getRole().getId()) {
-            Employee updatedEmployee = iEmployeeService.findEmployeeById(id)
-                    .map(employee -> {
-                        employee.setFirstName(newEmployee.getFirstName());
-                        employee.setLastName(newEmployee.getLastName());
-                        employee.setRole(iRoleService.findRoleById(newEmployee.getRole().getId()).get());
-                        return iEmployeeService.saveEmployee(employee);
-                    })
-                    .orElseGet(() -> {
-                        newEmployee.setId(id);
-                        return iEmployeeService.saveEmployee(newEmployee);
-                    });
+        return CompletableFuture.supplyAsync(() -> {
+            if (null != newEmployee.getRole().getId()) {
+                Optional<Employee> currentEmployee = iEmployeeService.findEmployeeById(id);
 
-            EntityModel<EmployeeDto> entityModel = employeeModelAssembler.toModel(updatedEmployee);
+                if (ifMatch != null && currentEmployee
+                        .map(employee -> !EntityTags.matches(ifMatch,
+                                EntityTags.employee(employee, iRoleService.getRolesVersion())))
+                        .orElse(true)) {
+                    throw new EmployeePreconditionFailedException(id);
+                }
 
-            System.out.println("El empleado actualizado es: \n" + updatedEmployee);
+                Role role = iRoleService.findRoleById(newEmployee.getRole().getId()).get();
+
+                Employee updatedEmployee = currentEmployee
+                        .map(employee -> {
+                            employee.setFirstName(newEmployee.getFirstName());
+                            employee.setLastName(newEmployee.getLastName());
+                            employee.setRole(role);
+                            return iEmployeeService.saveEmployee(employee);
+                        })
+                        .orElseGet(() -> {
+                            //el id lo asigna la secuencia employee_seq, como en POST /employees
+                            newEmployee.setId(null);
+                            newEmployee.setRole(role);
+                            return iEmployeeService.saveEmployee(newEmployee);
+                        });
+
+                //la entidad devuelta por merge referencia un proxy del role, que no se puede inicializar
+                //fuera de la transaccion; se sustituye por el role del registro
+                updatedEmployee.setRole(role);
+
+                EntityModel<EmployeeDto> entityModel = employeeModelAssembler.toModel(updatedEmployee);
+
+                LOGGER.debug("El empleado actualizado es: {}", updatedEmployee);
+
+                return ResponseEntity
+                        .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                        .eTag(EntityTags.employee(updatedEmployee, iRoleService.getRolesVersion()))
+                        .body(entityModel);
+            }
 
             return ResponseEntity
-                    .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                    .body(entityModel);
-        }
+                    .status(HttpStatus.BAD_REQUEST)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                    .body(Problem.create()
+                            .withTitle("Bad Request. Please provide a valid JSON value")
+                            .withDetail(employeeModelAssembler.getJsonSchema()));
+        }, writeExecutor);
+    }
 
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
-                .body(Problem.create()
-                        .withTitle("Bad Request. Please provide a valid JSON value")
-                        .withDetail(employeeModelAssembler.getJsonSchema()));
+    /**
+     * Representa el mapeo de una peticion HTTP PATCH, a la URL http://localhost:8181/employees/{valor numerico}
+     *
+     * Modifica solo los atributos incluidos en un documento JSON Merge Patch (RFC 7386, application/merge-patch+json),
+     * mediante el metodo 'patchEmployee(id, patch)' de la capa de servicio EmployeeServiceImpl, que ejecuta
+     * una sentencia UPDATE con esas columnas, sin cargar el empleado. Si se cambia de role, antes se lee
+     * y bloquea el role actual del empleado, para actualizar los recuentos por role.
+     * Los atributos admitidos son firstName, lastName, jobTitle y role ({"id": ...}); id y annualSalary
+     * son de solo lectura y null no es un valor valido para ningun atributo.
+     *
+     * Ejemplo: curl -X PATCH -H "Content-Type: application/merge-patch+json" -d '{"lastName": "Baggins"}'
+     *          http://localhost:8181/employees/1
+     *
+     * Si la peticion incluye la cabecera If-Match, la version indicada en la ETag forma parte de la condicion
+     * de la sentencia UPDATE; si no se modifica ninguna fila se responde 412 (Precondition Failed).
+     * Sin la cabecera If-Match, si no se modifica ninguna fila el empleado no existe y se responde 404 (Not Found)
+     *
+     * @param patch, objeto de tipo JsonNode anotado con @RequestBody, documento JSON Merge Patch
+     * @param id, tipo Long anotado con @PathVariable. Indica el id del empleado a modificar
+     * @param ifMatch, tipo String anotado con @RequestHeader, opcional. Valor de la cabecera If-Match,
+     *                 con la ETag del empleado obtenida en una lectura anterior
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, sin cuerpo (204 No Content) si se ha modificado el empleado
+     */
+    @PatchMapping(value = "/employees/{id}", consumes = MERGE_PATCH_JSON_VALUE)
+    @QueryBudget(2) //UPDATE y, si se cambia de role, la lectura con bloqueo del role actual del empleado
+    public CompletableFuture<ResponseEntity<?>> patchEmployee(@RequestBody JsonNode patch, @PathVariable(name="id") Long id,
+                                                              @RequestHeader(name=HttpHeaders.IF_MATCH, required=false) String ifMatch) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            EmployeePatch employeePatch = new EmployeePatch();
+            List<String> errors = applyMergePatch(patch, employeePatch);
+
+            if (!errors.isEmpty()) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Bad Request. Please provide a valid JSON merge patch")
+                                .withDetail(String.join("; ", errors)));
+            }
 
+            if (ifMatch != null) {
+                employeePatch.setExpectedVersions(EntityTags.employeeVersions(ifMatch, id, iRoleService.getRolesVersion()));
+                if (employeePatch.getExpectedVersions() != null && employeePatch.getExpectedVersions().isEmpty()) {
+                    throw new EmployeePreconditionFailedException(id);
+                }
+            }
+
+            //un documento vacio no modifica el empleado, pero el recurso debe existir
+            int updated = employeePatch.isEmpty()
+                    ? iEmployeeService.findEmployeeById(id)
+                            .filter(employee -> employeePatch.getExpectedVersions() == null
+                                    || employeePatch.getExpectedVersions().contains(employee.getVersion()))
+                            .map(employee -> 1).orElse(0)
+                    : iEmployeeService.patchEmployee(id, employeePatch);
+
+            LOGGER.debug("Employee {} patch {}: {} rows", id, employeePatch, updated);
+
+            if (updated == 0) {
+                if (ifMatch != null) {
+                    throw new EmployeePreconditionFailedException(id);
+                }
+                throw new EmployeeNotFoundException(id);
+            }
+
+            return ResponseEntity.noContent().build();
+        }, writeExecutor);
     }
 
     /**
      * Representa el mapeo de una peticion HTTP DELETE, a la URL http://localhost:8181/employees/{valor numerico}
      *
      * Accede a la capa de servicio EmployeeServiceImpl mediante su interface IEmployeeService
-     * y hace uso de los metodos 'findEmployeeById(id)' para recuperar el objeto de tipo EmployeeDto,
+     * y hace uso de los metodos 'findEmployeeWithRoleById(id)' para recuperar el objeto de tipo EmployeeDto,
      * y deleteEmployee(id), para eliminar el empleado determinado por el valor numerico pasado en la URL
      *
      * @param id, tipo Long anotado con @PathVariable para indicar que es un parametro de metodo
      *            y debe estar vinculado a una variable de tipo plantilla de URI (URI template)
      *            Indica el id del empleado que se quiere eliminar
      *
-     * @return objeto generico de tipo ResponseEntity, con una respuesta de operacion valida
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, con una respuesta de operacion valida
      */
     @DeleteMapping("/employees/{id}")
-    public ResponseEntity<?> deleteEmployee(@PathVariable(name="id")Long id) {
+    @QueryBudget(3) //lectura, lectura de deleteById y DELETE
+    public CompletableFuture<ResponseEntity<?>> deleteEmployee(@PathVariable(name="id")Long id) {
 
-        Employee deletedEmployee = iEmployeeService.findEmployeeById(id)
-                .orElseThrow(() -> new EmployeeNotFoundException(id));
+        return CompletableFuture.supplyAsync(() -> {
+            Employee deletedEmployee = iEmployeeService.findEmployeeWithRoleById(id)
+                    .orElseThrow(() -> new EmployeeNotFoundException(id));
 
-        System.out.println("El empleado eliminado es: \n"+ deletedEmployee);
+            LOGGER.debug("El empleado eliminado es: {}", deletedEmployee);
 
-        iEmployeeService.deleteEmployee(id);
+            iEmployeeService.deleteEmployee(id);
 
-        return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().build();
+        }, writeExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP POST, a la URL
+     * http://localhost:8181/employees/reassign-role?from={valor numerico [1-11]}&to={valor numerico [1-11]}
+     *
+     * Cambia de empleo a todos los empleados de un empleo con una unica sentencia UPDATE, mediante el metodo
+     * 'reassignRole(fromRole, toRole)' de la capa de servicio EmployeeServiceImpl, sin cargar los empleados.
+     * Se incrementa la version de cada empleado modificado, por lo que cambian sus ETags
+     *
+     * @param fromRoleId, tipo Long anotado con @RequestParam. Id del empleo actual de los empleados
+     * @param toRoleId, tipo Long anotado con @RequestParam. Id del nuevo empleo de los empleados
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo BulkResultDto con el numero de empleados modificados
+     */
+    @PostMapping("/employees/reassign-role")
+    @QueryBudget(1) //un unico UPDATE, los roles se obtienen del registro en memoria
+    public CompletableFuture<ResponseEntity<?>> reassignRole(@RequestParam(name="from") Long fromRoleId,
+                                                             @RequestParam(name="to") Long toRoleId) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            Role fromRole = iRoleService.findRoleById(fromRoleId).get();
+            Role toRole = iRoleService.findRoleById(toRoleId).get();
+
+            int updated = iEmployeeService.reassignRole(fromRole, toRole);
+
+            return ResponseEntity.ok(new BulkResultDto("REASSIGN_ROLE", updated));
+        }, writeExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP POST, a la URL
+     * http://localhost:8181/employees/reassign?to={valor numerico [1-11]}
+     *
+     * Cambia de empleo a los empleados indicados por id con una unica sentencia UPDATE, mediante el metodo
+     * 'reassignEmployees(ids, toRole)' de la capa de servicio EmployeeServiceImpl. Los ids que no existen
+     * y los empleados que ya tienen ese empleo se ignoran
+     *
+     * @param ids, listado de tipos Long anotado con @RequestBody, en formato JSON ([1, 2, 3]).
+     *             El numero de elementos no puede superar 'employees.batch.max-items'
+     * @param toRoleId, tipo Long anotado con @RequestParam. Id del nuevo empleo de los empleados
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo BulkResultDto con el numero de empleados modificados
+     */
+    @PostMapping("/employees/reassign")
+    @QueryBudget(2) //recuento por role de los empleados indicados y un unico UPDATE
+    public CompletableFuture<ResponseEntity<?>> reassignEmployees(@RequestBody List<Long> ids,
+                                                                  @RequestParam(name="to") Long toRoleId) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            if (ids.size() > maxBatchItems) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Bad Request. Too many employees in a single request")
+                                .withDetail("A request can contain at most " + maxBatchItems + " ids"));
+            }
+
+            Role toRole = iRoleService.findRoleById(toRoleId).get();
+            Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+
+            int updated = iEmployeeService.reassignEmployees(distinctIds, toRole);
+
+            return ResponseEntity.ok(new BulkResultDto("REASSIGN_EMPLOYEES", updated));
+        }, writeExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP DELETE, a la URL http://localhost:8181/employees/roleid/{valor numerico [1-11]}
+     *
+     * Elimina todos los empleados de un empleo con una unica sentencia DELETE, mediante el metodo
+     * 'deleteEmployeesByRole(role)' de la capa de servicio EmployeeServiceImpl, sin cargar los empleados
+     *
+     * @param roleId, tipo Long anotado con @PathVariable. Id del empleo cuyos empleados se eliminan
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo BulkResultDto con el numero de empleados eliminados
+     */
+    @DeleteMapping("/employees/roleid/{role_id}")
+    @QueryBudget(1) //un unico DELETE
+    public CompletableFuture<ResponseEntity<?>> deleteEmployeesByRole(@PathVariable(name="role_id") Long roleId) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            Role role = iRoleService.findRoleById(roleId).get();
+
+            int deleted = iEmployeeService.deleteEmployeesByRole(role);
+
+            return ResponseEntity.ok(new BulkResultDto("DELETE_BY_ROLE", deleted));
+        }, writeExecutor);
     }
 
     /**
@@ -279,115 +815,429 @@ public class EmployeeController {
      * @param roleId, tipo Long anotado con @PathVariable para indicar que es un parametro de metodo
      *            y debe estar vinculado a una variable de tipo plantilla de URI (URI template)
      *            Indica el id del role/empleo que se utiliza para hacer la busqueda de empleados por role
+     * @param after, tipo Long anotado con @RequestParam, opcional. Cursor de paginacion, id del ultimo
+     *               empleado de la pagina anterior
+     * @param limit, tipo Integer anotado con @RequestParam, opcional. Tamaño de pagina
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
-     * que contiene todos los empleados que desempeñan un trabajo determinado, junto con enlaces agregados
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
+     * que contiene una pagina de los empleados que desempeñan un trabajo determinado, junto con enlaces agregados
      */
     @GetMapping("/employees/roleid/{role_id}")
-    public ResponseEntity<?> findEmployeesByRoleId(@PathVariable(name="role_id") Long roleId) {
-
-        Optional<Role> role = iRoleService.findRoleById(roleId);
+    @QueryBudget(1) //el role se obtiene del registro en memoria
+    public CompletableFuture<ResponseEntity<?>> findEmployeesByRoleId(@PathVariable(name="role_id") Long roleId,
+                                                                      @RequestParam(name="after", required=false) Long after,
+                                                                      @RequestParam(name="limit", required=false) Integer limit) {
 
-        System.out.println("El role by ID es: \n"+ role);
+        return CompletableFuture.supplyAsync(() -> {
+            Optional<Role> role = iRoleService.findRoleById(roleId);
 
-        List<EntityModel<EmployeeDto>> employees = getEmployeesByRoleId(role.get().getId());
+            LOGGER.debug("El role by ID es: {}", role);
 
-        CollectionModel<EntityModel<EmployeeDto>> collectionModel = CollectionModel.of(employees,
-                linkTo(methodOn(EmployeeController.class).findEmployeesByRoleId(role.get().getId())).withSelfRel());
+            Long afterId = resolveCursor(after);
+            int pageSize = resolvePageSize(limit);
 
+            CollectionModel<EntityModel<EmployeeDto>> collectionModel = toKeysetCollectionModel(
+                    getEmployeesByRoleId(role.get().getId(), afterId, pageSize + 1), pageSize,
+                    linkTo(methodOn(EmployeeController.class)
+                            .findEmployeesByRoleId(role.get().getId(), afterId, pageSize)).withSelfRel(),
+                    lastId -> linkTo(methodOn(EmployeeController.class)
+                            .findEmployeesByRoleId(role.get().getId(), lastId, pageSize)).withRel(IanaLinkRelations.NEXT));
 
-        return ResponseEntity
-                .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                .body(collectionModel);
 
+            return ResponseEntity
+                    .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(collectionModel);
+        }, collectionReadExecutor);
     }
     /**
      * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/employees/role/{valor String}
      *
      * Accede a la capa de servicio RoleServiceImpl mediante su interface IRoleService
-     * y hace uso del metodo 'findRoleByJobTitle(jobTitle)' para recuperar el objeto Role.
+     * y hace uso del metodo 'findRoleByJobEnum(jobEnum)' para recuperar el objeto Role.
      * Despues llama al metodo getEmployeesByRoleId(roleId), donde accede a la capa de servicio
      * EmployeeServiceImpl mediante su interface IEmployeeService y hace uso del metodo
-     * findEmployeesByRoleId(roleId) para recuperar un listado de objetos de tipo EmployeeDto
+     * findEmployeesByRoleId(roleId, afterId, limit) para recuperar una pagina de objetos de tipo EmployeeDto
      * cuyo empleo se corresponda al role pasado en la URL.
      *
-     * @param jobTitle, tipo String anotado con @PathVariable para indicar que es un parametro de metodo
+     * @param jobEnum, tipo JobEnum anotado con @PathVariable para indicar que es un parametro de metodo
      *            y debe estar vinculado a una variable de tipo plantilla de URI (URI template)
-     *            Indica el nombre del role/empleo que se utiliza para hacer la busqueda de empleados por role
+     *            Indica el nombre del role/empleo que se utiliza para hacer la busqueda de empleados por role,
+     *            convertido a JobEnum por StringToJobEnumConverter
+     * @param after, tipo Long anotado con @RequestParam, opcional. Cursor de paginacion, id del ultimo
+     *               empleado de la pagina anterior
+     * @param limit, tipo Integer anotado con @RequestParam, opcional. Tamaño de pagina
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
-     * que contiene todos los empleados que desempeñan un trabajo determinado, junto con enlaces agregados
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
+     * que contiene una pagina de los empleados que desempeñan un trabajo determinado, junto con enlaces agregados
      */
     @GetMapping("/employees/role/{job}")
-    public ResponseEntity<?> findEmployeesByRolePathVariable(@PathVariable(name="job") String jobTitle) {
+    @QueryBudget(1) //el role se obtiene del registro en memoria
+    public CompletableFuture<ResponseEntity<?>> findEmployeesByRolePathVariable(@PathVariable(name="job") JobEnum jobEnum,
+                                                                                @RequestParam(name="after", required=false) Long after,
+                                                                                @RequestParam(name="limit", required=false) Integer limit) {
 
-        Optional<Role> role = Optional.ofNullable(iRoleService.findRoleByJobTitle(jobTitle)
-                .orElseThrow(() -> new RoleNotFoundException(jobTitle)));
+        return CompletableFuture.supplyAsync(() -> {
+            Optional<Role> role = Optional.ofNullable(iRoleService.findRoleByJobEnum(jobEnum)
+                    .orElseThrow(() -> new RoleNotFoundException(jobEnum.getJobTitle())));
 
-        System.out.println("[PathVariable] El role by jobTitle es: \n"+ role);
+            LOGGER.debug("[PathVariable] El role by jobTitle es: {}", role);
 
-        List<EntityModel<EmployeeDto>> employees = getEmployeesByRoleId(role.get().getId());
+            Long afterId = resolveCursor(after);
+            int pageSize = resolvePageSize(limit);
 
-        CollectionModel<EntityModel<EmployeeDto>> collectionModel = CollectionModel.of(employees,
-                linkTo(methodOn(EmployeeController.class).findEmployeesByRolePathVariable(jobTitle)).withSelfRel());
+            CollectionModel<EntityModel<EmployeeDto>> collectionModel = toKeysetCollectionModel(
+                    getEmployeesByRoleId(role.get().getId(), afterId, pageSize + 1), pageSize,
+                    linkTo(methodOn(EmployeeController.class)
+                            .findEmployeesByRolePathVariable(jobEnum, afterId, pageSize)).withSelfRel(),
+                    lastId -> linkTo(methodOn(EmployeeController.class)
+                            .findEmployeesByRolePathVariable(jobEnum, lastId, pageSize)).withRel(IanaLinkRelations.NEXT));
 
-        return ResponseEntity
-                .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                .body(collectionModel);
+            return ResponseEntity
+                    .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(collectionModel);
+        }, collectionReadExecutor);
     }
 
     /**
      * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/employees/role
      *
      * Accede a la capa de servicio RoleServiceImpl mediante su interface IRoleService
-     * y hace uso del metodo 'findRoleByJobTitle(jobTitle)' para recuperar el objeto Role.
+     * y hace uso del metodo 'findRoleByJobEnum(jobEnum)' para recuperar el objeto Role.
      * Despues llama al metodo getEmployeesByRoleId(roleId), donde accede a la capa de servicio
      * EmployeeServiceImpl mediante su interface IEmployeeService y hace uso del metodo
-     * findEmployeesByRoleId(roleId) para recuperar un listado de objetos de tipo EmployeeDto
+     * findEmployeesByRoleId(roleId, afterId, limit) para recuperar una pagina de objetos de tipo EmployeeDto
      * cuyo empleo se corresponda al role pasado como parametro de la solicitud web.
      *
-     * @param jobTitle, tipo String anotado con @RequestParam para indicar que es un parametro de metodo
+     * @param jobEnum, tipo JobEnum anotado con @RequestParam para indicar que es un parametro de metodo
      *            y debe estar vinculado a un parametro de solicitud web, en este caso parametro "job".
-     *            Indica el nombre del role/empleo que se utiliza para hacer la busqueda de empleados por role
+     *            Indica el nombre del role/empleo que se utiliza para hacer la busqueda de empleados por role,
+     *            convertido a JobEnum por StringToJobEnumConverter
+     * @param after, tipo Long anotado con @RequestParam, opcional. Cursor de paginacion, id del ultimo
+     *               empleado de la pagina anterior
+     * @param limit, tipo Integer anotado con @RequestParam, opcional. Tamaño de pagina
      *
-     *
-     * @return objeto generico de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
-     * que contiene todos los empleados que desempeñan un trabajo determinado, junto con enlaces agregados
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
+     * que contiene una pagina de los empleados que desempeñan un trabajo determinado, junto con enlaces agregados
      */
     @GetMapping("/employees/role")
-    public ResponseEntity<?> findEmployeesByRoleRequestParam(@RequestParam(name="job") String jobTitle) {
+    @QueryBudget(1) //el role se obtiene del registro en memoria
+    public CompletableFuture<ResponseEntity<?>> findEmployeesByRoleRequestParam(@RequestParam(name="job") JobEnum jobEnum,
+                                                                                @RequestParam(name="after", required=false) Long after,
+                                                                                @RequestParam(name="limit", required=false) Integer limit) {
 
-        Optional<Role> role = Optional.ofNullable(iRoleService.findRoleByJobTitle(jobTitle)
-                .orElseThrow(() -> new RoleNotFoundException(jobTitle)));
+        return CompletableFuture.supplyAsync(() -> {
+            Optional<Role> role = Optional.ofNullable(iRoleService.findRoleByJobEnum(jobEnum)
+                    .orElseThrow(() -> new RoleNotFoundException(jobEnum.getJobTitle())));
 
-        System.out.println("[RequestParam] El role by jobTitle es: \n"+ role);
+            LOGGER.debug("[RequestParam] El role by jobTitle es: {}", role);
 
-        List<EntityModel<EmployeeDto>> employees = getEmployeesByRoleId(role.get().getId());
+            Long afterId = resolveCursor(after);
+            int pageSize = resolvePageSize(limit);
 
-        CollectionModel<EntityModel<EmployeeDto>> collectionModel = CollectionModel.of(employees,
-                linkTo(methodOn(EmployeeController.class).findEmployeesByRoleRequestParam(jobTitle)).withSelfRel());
+            CollectionModel<EntityModel<EmployeeDto>> collectionModel = toKeysetCollectionModel(
+                    getEmployeesByRoleId(role.get().getId(), afterId, pageSize + 1), pageSize,
+                    linkTo(methodOn(EmployeeController.class)
+                            .findEmployeesByRoleRequestParam(jobEnum, afterId, pageSize)).withSelfRel(),
+                    lastId -> linkTo(methodOn(EmployeeController.class)
+                            .findEmployeesByRoleRequestParam(jobEnum, lastId, pageSize)).withRel(IanaLinkRelations.NEXT));
 
-        return ResponseEntity
-                .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                .body(collectionModel);
+            return ResponseEntity
+                    .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(collectionModel);
+        }, collectionReadExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/employees/search
+     *
+     * Busca empleados por prefijo del nombre o del apellido, por role y por rango de salario, ordenados por
+     * el atributo indicado. Accede a la capa de servicio EmployeeServiceImpl mediante su interface
+     * IEmployeeService y hace uso del metodo 'searchEmployees(criteria)', que ejecuta una unica consulta
+     * SQL con todos los filtros, apoyada en los indices de schema.sql.
+     *
+     * Los filtros por role (roleId, job) y por salario (minSalary, maxSalary) se resuelven en memoria,
+     * a partir del registro de roles, en un listado de ids de role (role_id IN (...)).
+     * La paginacion es por numero de pagina, ya que el orden puede ser por cualquier atributo; si existen
+     * mas resultados, se agrega un enlace 'next' a la pagina siguiente
+     *
+     * @param name, tipo String anotado con @RequestParam, opcional. Prefijo del nombre o del apellido,
+     *              distingue mayusculas y minusculas
+     * @param roleId, tipo Long anotado con @RequestParam, opcional. Id del role
+     * @param jobEnum, tipo JobEnum anotado con @RequestParam, opcional. Nombre del empleo
+     * @param minSalary, tipo BigDecimal anotado con @RequestParam, opcional. Salario anual minimo
+     * @param maxSalary, tipo BigDecimal anotado con @RequestParam, opcional. Salario anual maximo
+     * @param sort, tipo String anotado con @RequestParam, opcional. Atributo de ordenacion (id, firstName,
+     *              lastName o annualSalary), seguido opcionalmente de ',asc' o ',desc'. Por defecto, id
+     * @param page, tipo Integer anotado con @RequestParam, opcional. Numero de pagina, empezando por 0
+     * @param limit, tipo Integer anotado con @RequestParam, opcional. Tamaño de pagina
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
+     * que contiene una pagina de los empleados que cumplen los filtros, junto con enlaces agregados
+     */
+    @GetMapping("/employees/search")
+    @QueryBudget(1) //empleados y roles en una consulta (proyeccion), los roles se filtran en memoria
+    public CompletableFuture<ResponseEntity<?>> searchEmployees(@RequestParam(name="name", required=false) String name,
+                                                                @RequestParam(name="roleId", required=false) Long roleId,
+                                                                @RequestParam(name="job", required=false) JobEnum jobEnum,
+                                                                @RequestParam(name="minSalary", required=false) BigDecimal minSalary,
+                                                                @RequestParam(name="maxSalary", required=false) BigDecimal maxSalary,
+                                                                @RequestParam(name="sort", required=false) String sort,
+                                                                @RequestParam(name="page", required=false) Integer page,
+                                                                @RequestParam(name="limit", required=false) Integer limit) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            String[] sortParts = sort == null ? new String[]{"id"} : sort.split(",", 2);
+            String sortProperty = sortParts[0].trim();
+            String sortDirection = sortParts.length > 1 ? sortParts[1].trim() : "asc";
+
+            if (!EmployeeSearchCriteria.SORT_PROPERTIES.contains(sortProperty)
+                    || !(sortDirection.equalsIgnoreCase("asc") || sortDirection.equalsIgnoreCase("desc"))) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Bad Request. Invalid sort parameter")
+                                .withDetail("Sort by one of " + EmployeeSearchCriteria.SORT_PROPERTIES
+                                        + ", optionally followed by ',asc' or ',desc'"));
+            }
 
+            int pageSize = resolvePageSize(limit);
+            int pageNumber = page == null || page < 0 ? 0 : Math.min(page, Integer.MAX_VALUE / pageSize - 1);
+
+            EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+            criteria.setNamePrefix(name);
+            criteria.setRoleIds(resolveSearchRoleIds(roleId, jobEnum, minSalary, maxSalary));
+            criteria.setSortProperty(sortProperty);
+            criteria.setDescending(sortDirection.equalsIgnoreCase("desc"));
+            criteria.setOffset(pageNumber * pageSize);
+            criteria.setLimit(pageSize + 1);
+
+            //el enlace 'next' no depende del ultimo id, sino del numero de pagina
+            CollectionModel<EntityModel<EmployeeDto>> collectionModel = toKeysetCollectionModel(
+                    iEmployeeService.searchEmployees(criteria), pageSize,
+                    linkTo(methodOn(EmployeeController.class).searchEmployees(name, roleId, jobEnum, minSalary,
+                            maxSalary, sort, pageNumber, pageSize)).withSelfRel(),
+                    lastId -> linkTo(methodOn(EmployeeController.class).searchEmployees(name, roleId, jobEnum,
+                            minSalary, maxSalary, sort, pageNumber + 1, pageSize)).withRel(IanaLinkRelations.NEXT));
+
+            return ResponseEntity
+                    .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(collectionModel);
+        }, collectionReadExecutor);
+    }
+
+    /**
+     * Resuelve los filtros de role y de salario de la busqueda de empleados en el listado de ids de los
+     * roles que los cumplen, a partir del registro de roles en memoria
+     *
+     * @param roleId, tipo Long, id del role, o null
+     * @param jobEnum, tipo JobEnum, empleo del role, o null
+     * @param minSalary, tipo BigDecimal, salario anual minimo, o null
+     * @param maxSalary, tipo BigDecimal, salario anual maximo, o null
+     *
+     * @return conjunto de ids de role, vacio si ningun role cumple los filtros, o null si no hay filtros
+     */
+    private Set<Long> resolveSearchRoleIds(Long roleId, JobEnum jobEnum, BigDecimal minSalary, BigDecimal maxSalary) {
+
+        if (roleId == null && jobEnum == null && minSalary == null && maxSalary == null) {
+            return null;
+        }
+
+        Set<Long> roleIds = new HashSet<>();
+        for (Role role : iRoleService.listRoles()) {
+            if ((roleId == null || roleId.equals(role.getId()))
+                    && (jobEnum == null || jobEnum == role.getJobEnum())
+                    && (minSalary == null || role.getAnnualSalary().compareTo(minSalary) >= 0)
+                    && (maxSalary == null || role.getAnnualSalary().compareTo(maxSalary) <= 0)) {
+                roleIds.add(role.getId());
+            }
+        }
+        return roleIds;
     }
 
     /**
      * Accede a la capa de servicio EmployeeServiceImpl mediante su interface IEmployeeService y hace uso
-     * del metodo findEmployeesByRoleId(roleId) para recuperar un listado de objetos de tipo EmployeeDto
-     * cuyo empleo/role tenga el mismo id que el valor pasado como parametro
+     * del metodo findEmployeesByRoleId(roleId, afterId, limit) para recuperar una pagina de objetos de tipo
+     * EmployeeDto cuyo empleo/role tenga el mismo id que el valor pasado como parametro
      *
      * @param id, tipo Long, indica el id del role/empleo que se utiliza para recuperar los empleados
      *            cuyo role_id se corresponde con dicho valor
+     * @param afterId, tipo Long, cursor de paginacion, solo se recuperan empleados con id mayor que este valor
+     * @param limit, tipo int, numero maximo de empleados a recuperar
+     *
+     * @return listado de objetos de tipo EmployeeDto, ordenado por id
+     */
+    private List<EmployeeDto> getEmployeesByRoleId(Long id, Long afterId, int limit) {
+        return iEmployeeService.findEmployeesByRoleId(id, afterId, limit);
+    }
+
+    /**
+     * Valida un elemento de una peticion de creacion por lotes: las restricciones de la entidad Employee
+     * y la existencia del role indicado
+     *
+     * @param employee, objeto de tipo Employee, elemento del lote
+     * @param roles, mapa de los roles existentes indexados por id
+     *
+     * @return listado de mensajes de error, vacio si el elemento es valido
+     */
+    private List<String> validateBatchItem(Employee employee, Map<Long, Role> roles) {
+
+        List<String> errors = new ArrayList<>();
+
+        if (employee == null) {
+            errors.add("Employee must not be null");
+            return errors;
+        }
+
+        for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+            errors.add(violation.getMessage());
+        }
+
+        if (employee.getRole() != null) {
+            Long roleId = employee.getRole().getId();
+            if (roleId == null) {
+                errors.add(employeeModelAssembler.getJsonSchema());
+            } else if (!roles.containsKey(roleId)) {
+                errors.add("Could not find role " + roleId);
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Traslada un documento JSON Merge Patch a un objeto EmployeePatch, validando cada atributo con las mismas
+     * restricciones que la entidad Employee. El role se indica por su nombre (jobTitle, como en la representacion
+     * del empleado) o por su id (role, como en el cuerpo de POST y PUT); si se indican ambos deben coincidir
+     *
+     * @param patch, objeto de tipo JsonNode, documento JSON Merge Patch
+     * @param employeePatch, objeto de tipo EmployeePatch en el que se guardan los atributos modificados
+     *
+     * @return listado de mensajes de error, vacio si el documento es valido
+     */
+    private List<String> applyMergePatch(JsonNode patch, EmployeePatch employeePatch) {
+
+        List<String> errors = new ArrayList<>();
+
+        if (patch == null || !patch.isObject()) {
+            errors.add("The merge patch document must be a JSON object");
+            return errors;
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+
+            switch (field.getKey()) {
+                case "firstName":
+                case "lastName":
+                    if (!value.isTextual() || value.textValue().isEmpty()) {
+                        errors.add("\"" + field.getKey() + "\" with a String value is required");
+                    } else if (field.getKey().equals("firstName")) {
+                        employeePatch.setFirstName(value.textValue());
+                    } else {
+                        employeePatch.setLastName(value.textValue());
+                    }
+                    break;
+                case "jobTitle":
+                    JobEnum jobEnum = value.isTextual() ? JobEnum.fromJobTitleIgnoreCase(value.textValue()) : null;
+                    Optional<Role> role = jobEnum != null ? iRoleService.findRoleByJobEnum(jobEnum) : Optional.empty();
+                    if (role.isEmpty()) {
+                        errors.add("Could not find role " + value);
+                    } else if (employeePatch.getRole() != null && !employeePatch.getRole().getId().equals(role.get().getId())) {
+                        errors.add("\"jobTitle\" and \"role\" refer to different roles");
+                    } else {
+                        employeePatch.setRole(role.get());
+                    }
+                    break;
+                case "role":
+                    JsonNode roleId = value.path("id");
+                    if (!value.isObject() || !roleId.canConvertToLong()) {
+                        errors.add(employeeModelAssembler.getJsonSchema());
+                        break;
+                    }
+                    Role roleById = iRoleService.findRolesByIds(Set.of(roleId.longValue())).get(roleId.longValue());
+                    if (roleById == null) {
+                        errors.add("Could not find role " + roleId.longValue());
+                    } else if (employeePatch.getRole() != null && !employeePatch.getRole().getId().equals(roleById.getId())) {
+                        errors.add("\"jobTitle\" and \"role\" refer to different roles");
+                    } else {
+                        employeePatch.setRole(roleById);
+                    }
+                    break;
+                case "id":
+                case "annualSalary":
+                    errors.add("\"" + field.getKey() + "\" is read-only");
+                    break;
+                default:
+                    errors.add("Unknown attribute \"" + field.getKey() + "\"");
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Construye la pagina de una respuesta paginada por cursor (keyset).
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un listado de objetos de tipo EmployeeDto,
-     * que contiene todos los empleados que desempeñan un trabajo determinado, junto con enlaces agregados
+     * Recibe hasta pageSize + 1 empleados: si se recibe el elemento adicional, existe una pagina siguiente,
+     * el elemento adicional se descarta y se agrega el enlace 'next', construido a partir del id
+     * del ultimo empleado de la pagina
+     *
+     * @param rows, listado de objetos de tipo EmployeeDto ordenado por id, con un maximo de pageSize + 1 elementos
+     * @param pageSize, tipo int, tamaño de la pagina
+     * @param selfLink, objeto de tipo Link, enlace a la pagina actual
+     * @param nextLink, funcion que construye el enlace a la pagina siguiente a partir del cursor
+     *
+     * @return objeto de tipo CollectionModel con los empleados de la pagina, junto con enlaces agregados
      */
-    private List<EntityModel<EmployeeDto>> getEmployeesByRoleId(Long id) {
-        return iEmployeeService.findEmployeesByRoleId(id).stream()
+    private CollectionModel<EntityModel<EmployeeDto>> toKeysetCollectionModel(List<EmployeeDto> rows, int pageSize,
+                                                                              Link selfLink,
+                                                                              Function<Long, Link> nextLink) {
+
+        boolean hasNext = rows.size() > pageSize;
+        List<EmployeeDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<EntityModel<EmployeeDto>> employees = page.stream()
                 .map(employeeModelAssembler::toModel)
                 .collect(Collectors.toList());
+
+        CollectionModel<EntityModel<EmployeeDto>> collectionModel = CollectionModel.of(employees, selfLink);
+
+        if (hasNext) {
+            collectionModel.add(nextLink.apply(page.get(page.size() - 1).getId()));
+        }
+
+        return collectionModel;
+    }
+
+    /**
+     * Resuelve el cursor de paginacion. Sin cursor se empieza desde el principio de la tabla
+     *
+     * @param after, tipo Long, id del ultimo empleado de la pagina anterior, puede ser null
+     * @return tipo Long, id a partir del cual se recuperan empleados
+     */
+    private Long resolveCursor(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Resuelve el tamaño de pagina solicitado, aplicando el valor por defecto si no se indica
+     * y limitandolo al maximo configurado, de forma que una sola peticion nunca recupere la tabla completa
+     *
+     * @param limit, tipo Integer, tamaño de pagina solicitado, puede ser null
+     * @return tipo int, tamaño de pagina efectivo, entre 1 y 'employees.page.max-size'
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
     }
 
 }
@@ -0,0 +1,62 @@
+package springBootSimpleHTTPService.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springBootSimpleHTTPService.dto.ExecutorStatsDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Clase de la capa Controller.
+ *
+ * Expone el estado de los pools de hilos que atienden las peticiones de la API (ver ExecutorConfiguration)
+ *
+ * Anotaciones:
+ *
+ * @RestController
+ * Anotacion que a su vez esta anotada con @Controller y @ResponseBody.
+ * Los tipos que llevan esta anotacion se tratan como controladores donde los metodos @RequestMapping
+ * asumen la semantica @ResponseBody por defecto
+ *
+ * @GetMapping
+ * Anotacion compuesta que actua como un atajo para @RequestMapping(method = RequestMethod.GET).
+ */
+@RestController
+public class ExecutorController {
+
+    private final Map<String, ThreadPoolTaskExecutor> executors;
+
+    /**
+     * Constructor de la clase, parametrizado con los pools de hilos definidos en el contexto de Spring
+     *
+     * @param executors, mapa de tipos ThreadPoolTaskExecutor por nombre de bean
+     */
+    @Autowired
+    public ExecutorController(Map<String, ThreadPoolTaskExecutor> executors) {
+        this.executors = new TreeMap<>(executors);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/executors
+     *
+     * Se atiende en el hilo de Tomcat, para que siga respondiendo aunque los pools esten saturados
+     *
+     * @return objeto generico de tipo ResponseEntity, formado por un listado de tipos ExecutorStatsDto,
+     * con el estado actual de cada pool de hilos
+     */
+    @GetMapping("/executors")
+    public ResponseEntity<?> allExecutors() {
+
+        List<ExecutorStatsDto> stats = executors.entrySet().stream()
+                .map(entry -> ExecutorStatsDto.of(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(stats);
+    }
+}
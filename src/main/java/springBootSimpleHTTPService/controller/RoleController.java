@@ -1,20 +1,39 @@
 package springBootSimpleHTTPService.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.mediatype.problem.Problem;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import springBootSimpleHTTPService.configuration.ExecutorConfiguration;
+import springBootSimpleHTTPService.dto.BulkResultDto;
 import springBootSimpleHTTPService.dto.RoleDto;
+import springBootSimpleHTTPService.dto.RoleStatsDto;
 import springBootSimpleHTTPService.entity.Role;
 import springBootSimpleHTTPService.service.IRoleService;
+import springBootSimpleHTTPService.util.EntityTags;
+import springBootSimpleHTTPService.util.QueryBudget;
 import springBootSimpleHTTPService.util.RoleModelAssembler;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -43,12 +62,27 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  * El punto de acceso a la peticion sera http://localhost:8181/{path}, en este caso
  * (el puerto 8181 queda especificado en el archivo application.properties, del directorio resources)
  *
+ * Cada metodo se ejecuta en el pool de hilos correspondiente a su tipo de carga de trabajo (ver
+ * ExecutorConfiguration) y devuelve un CompletableFuture, de forma que el hilo de Tomcat queda libre
+ * mientras tanto y una saturacion de un tipo de peticiones no afecta a los demas
+ *
  */
 @RestController
 public class RoleController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoleController.class);
+
+    //limite inferior (excluido) del porcentaje de variacion del salario, un salario no puede quedar a cero o negativo
+    private static final BigDecimal MIN_SALARY_PERCENT = BigDecimal.valueOf(-100);
+
+    //salario maximo que admite la columna annualsalary (decimal(9,2))
+    private static final BigDecimal MAX_ANNUAL_SALARY = new BigDecimal("9999999.99");
+
     private final IRoleService iRoleService;
     private final RoleModelAssembler roleModelAssembler;
+    private final Executor pointReadExecutor;
+    private final Executor collectionReadExecutor;
+    private final Executor writeExecutor;
 
     /**
      * Constructor de la clase, parametrizado con la interface IRoleService y la clase RoleModelAssembler,
@@ -60,12 +94,21 @@ public class RoleController {
      * @param roleModelAssembler, instancia de tipo RoleModelAssembler, convierte un objeto de dominio en un
      *                            RepresentationModel, esto es, un EntityModel que envuelve al objeto de dominio
      *                            y lo agrega enlaces
+     * @param pointReadExecutor, instancia de tipo Executor, pool de hilos de las lecturas de un unico recurso
+     * @param collectionReadExecutor, instancia de tipo Executor, pool de hilos de las lecturas de listados
+     * @param writeExecutor, instancia de tipo Executor, pool de hilos de las escrituras
      *
      */
     @Autowired
-    public RoleController(IRoleService iRoleService, RoleModelAssembler roleModelAssembler) {
+    public RoleController(IRoleService iRoleService, RoleModelAssembler roleModelAssembler,
+                          @Qualifier(ExecutorConfiguration.POINT_READ_EXECUTOR) Executor pointReadExecutor,
+                          @Qualifier(ExecutorConfiguration.COLLECTION_READ_EXECUTOR) Executor collectionReadExecutor,
+                          @Qualifier(ExecutorConfiguration.WRITE_EXECUTOR) Executor writeExecutor) {
         this.iRoleService = iRoleService;
         this.roleModelAssembler = roleModelAssembler;
+        this.pointReadExecutor = pointReadExecutor;
+        this.collectionReadExecutor = collectionReadExecutor;
+        this.writeExecutor = writeExecutor;
     }
 
     /**
@@ -73,26 +116,72 @@ public class RoleController {
      *
      * Accede a la capa de servicio RoleServiceImpl mediante su interface IRoleService
      * y hace uso del metodo 'listRoles()' para recuperar un listado de tipos RoleDto
-     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio
+     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio.
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un listado de tipos RoleDto,
+     * La respuesta incluye una ETag fuerte, calculada a partir de la version del registro de roles.
+     * Si la peticion incluye la cabecera If-None-Match con la ETag actual, se responde 304 (Not Modified)
+     * sin cuerpo y sin construir el modelo
+     *
+     * @param webRequest, objeto de tipo WebRequest, utilizado para evaluar la cabecera If-None-Match
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de tipos RoleDto,
      * que contiene todos los empleos disponibles en el sistema, junto con enlaces agregados
      */
     @GetMapping("/roles")
-    public ResponseEntity<?> allRoles(){
+    @QueryBudget(0) //los roles se obtienen del registro en memoria
+    public CompletableFuture<ResponseEntity<?>> allRoles(WebRequest webRequest){
 
-        List<EntityModel<RoleDto>> roles = iRoleService.listRoles().stream()
-                .map(roleModelAssembler::toModel)
-                .collect(Collectors.toList());
+        return CompletableFuture.supplyAsync(() -> {
+            if (webRequest.checkNotModified(EntityTags.roles(iRoleService.getRolesVersion()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
 
-        CollectionModel<EntityModel<RoleDto>> collectionModel =
-                CollectionModel.of(roles,
-                        linkTo(methodOn(RoleController.class).allRoles()).withSelfRel());
+            List<EntityModel<RoleDto>> roles = iRoleService.listRoles().stream()
+                    .map(roleModelAssembler::toModel)
+                    .collect(Collectors.toList());
 
-        return ResponseEntity
-                .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                .body(collectionModel);
+            CollectionModel<EntityModel<RoleDto>> collectionModel =
+                    CollectionModel.of(roles,
+                            linkTo(methodOn(RoleController.class).allRoles(null)).withSelfRel());
 
+            return ResponseEntity
+                    .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(collectionModel);
+        }, collectionReadExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP GET, a la URL http://localhost:8181/roles/stats
+     *
+     * Devuelve, para cada role, el numero de empleados y el coste anual total (numero de empleados
+     * por salario anual). Los recuentos se mantienen en memoria (ver RoleStatsAggregator) y los roles
+     * se obtienen del registro en memoria, por lo que la peticion no accede a la base de datos.
+     * Los recuentos pueden diferir momentaneamente de la base de datos hasta la siguiente reconciliacion
+     * si se han modificado empleados sin pasar por las entidades JPA
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un listado de tipos RoleStatsDto, junto con enlaces agregados
+     */
+    @GetMapping("/roles/stats")
+    @QueryBudget(0) //recuentos y roles en memoria
+    public CompletableFuture<ResponseEntity<?>> roleStats() {
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<RoleStatsDto> stats = iRoleService.listRoles().stream()
+                    .map(role -> new RoleStatsDto(role.getId(), role.getJobEnum().getJobTitle(),
+                            role.getAnnualSalary(), iRoleService.getHeadcount(role.getId())))
+                    .collect(Collectors.toList());
+
+            CollectionModel<RoleStatsDto> collectionModel =
+                    CollectionModel.of(stats,
+                            linkTo(methodOn(RoleController.class).roleStats()).withSelfRel(),
+                            linkTo(methodOn(RoleController.class).allRoles(null)).withRel("roles"));
+
+            return ResponseEntity
+                    .created(collectionModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(collectionModel);
+        }, pointReadExecutor);
     }
 
     /**
@@ -100,30 +189,92 @@ public class RoleController {
      *
      * Accede a la capa de servicio RoleServiceImpl mediante su interface IRoleService
      * y hace uso del metodo 'findRoleById(id)' para recuperar un objeto de tipo RoleDto
-     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio
+     * en forma de ResponseEntity, esto es, agregando enlaces al objeto de dominio.
+     * Si la peticion incluye la cabecera If-None-Match con la ETag actual, se responde 304 (Not Modified)
      *
      * @param id, tipo Long anotado con @PathVariable para indicar que es un parametro de metodo
      *            y debe estar vinculado a una variable de tipo plantilla de URI (URI template)
      *            Indica el id del role/empleo que se quiere obtener
+     * @param webRequest, objeto de tipo WebRequest, utilizado para evaluar la cabecera If-None-Match
      *
-     * @return objeto generico de tipo ResponseEntity, formado por un objeto de tipo RoleDto,
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo RoleDto,
      * que contiene un empleo concreto disponible en el sistema, determinado por el valor numerico
      * de su id, junto con enlaces agregados
      */
     @GetMapping("/roles/{id}")
-    public ResponseEntity<?> oneRole(@PathVariable(name="id") Long id) {
+    @QueryBudget(0) //los roles se obtienen del registro en memoria
+    public CompletableFuture<ResponseEntity<?>> oneRole(@PathVariable(name="id") Long id, WebRequest webRequest) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            Optional<Role> roleEntity = iRoleService.findRoleById(id);
+
+            if (webRequest.checkNotModified(EntityTags.role(id, iRoleService.getRolesVersion()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            EntityModel<RoleDto> entityModel = roleModelAssembler.toModel(roleEntity.get());
+
+            LOGGER.debug("Role By Id: {}", roleEntity);
+
+            return ResponseEntity
+                    .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                    .body(entityModel);
+        }, pointReadExecutor);
+    }
+
+    /**
+     * Representa el mapeo de una peticion HTTP POST, a la URL
+     * http://localhost:8181/roles/{valor numerico [1-11]}/salary-adjustment?percent={valor numerico}
+     *
+     * Modifica el salario anual de un role en el porcentaje indicado con una unica sentencia UPDATE,
+     * mediante el metodo 'adjustSalary(role, percent)' de la capa de servicio RoleServiceImpl. Al confirmar
+     * la modificacion se recarga el registro de roles, por lo que cambian las ETags de los roles y de los
+     * empleados, y las estadisticas por role
+     *
+     * @param id, tipo Long anotado con @PathVariable. Id del role
+     * @param percent, tipo BigDecimal anotado con @RequestParam. Porcentaje de variacion del salario,
+     *                 mayor que -100 (por ejemplo 2.5 o -10). El salario resultante, redondeado a dos decimales,
+     *                 debe ser mayor que cero y no superar MAX_ANNUAL_SALARY; en caso contrario se responde
+     *                 400 (Bad Request) sin modificar el role
+     *
+     * @return objeto de tipo CompletableFuture, que se completa con un objeto generico
+     * de tipo ResponseEntity, formado por un objeto de tipo BulkResultDto con el numero de roles modificados
+     */
+    @PostMapping("/roles/{id}/salary-adjustment")
+    @QueryBudget(2) //un unico UPDATE y la recarga del registro de roles
+    public CompletableFuture<ResponseEntity<?>> adjustSalary(@PathVariable(name="id") Long id,
+                                                             @RequestParam(name="percent") BigDecimal percent) {
 
-        Optional<Role> roleEntity = iRoleService.findRoleById(id);
+        return CompletableFuture.supplyAsync(() -> {
+            if (percent.compareTo(MIN_SALARY_PERCENT) <= 0) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Bad Request. Invalid salary adjustment")
+                                .withDetail("The percentage must be greater than " + MIN_SALARY_PERCENT));
+            }
 
-        Optional<Role> role = iRoleService.findRoleById(roleEntity.get().getId());
+            Role role = iRoleService.findRoleById(id).get();
 
-        EntityModel<RoleDto> entityModel = roleModelAssembler.toModel(roleEntity.get());
+            BigDecimal adjustedSalary = role.getAnnualSalary()
+                    .multiply(BigDecimal.ONE.add(percent.movePointLeft(2)))
+                    .setScale(2, RoundingMode.HALF_UP);
+            if (adjustedSalary.signum() <= 0 || adjustedSalary.compareTo(MAX_ANNUAL_SALARY) > 0) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE)
+                        .body(Problem.create()
+                                .withTitle("Bad Request. Invalid salary adjustment")
+                                .withDetail("The adjusted salary must be greater than 0 and at most "
+                                        + MAX_ANNUAL_SALARY));
+            }
 
-        System.out.println("Role By Id: \n" + roleEntity);
+            int updated = iRoleService.adjustSalary(role, percent);
 
-        return ResponseEntity
-                .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
-                .body(entityModel);
+            return ResponseEntity.ok(new BulkResultDto("ADJUST_SALARY", updated));
+        }, writeExecutor);
     }
 
 }
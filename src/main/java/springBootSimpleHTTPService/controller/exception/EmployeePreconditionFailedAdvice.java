@@ -0,0 +1,38 @@
+package springBootSimpleHTTPService.controller.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Clase de la capa Controller, dentro del paquete Exception
+ *
+ * La anotacion @ControllerAdvice es una especializacion de @Component para clases que declaran
+ * los métodos @ExceptionHandler, @InitBinder o @ModelAttribute para compartir entre varias clases
+ * de @Controller.
+ *
+ * Gestiona los conflictos de concurrencia en la modificacion de empleados:
+ * - EmployeePreconditionFailedException, la ETag de la cabecera If-Match no coincide (412 Precondition Failed)
+ * - ObjectOptimisticLockingFailureException, otra transaccion ha modificado el empleado entre su lectura
+ *   y su escritura, detectado mediante la columna 'version' (409 Conflict)
+ */
+@ControllerAdvice
+class EmployeePreconditionFailedAdvice {
+
+    @ResponseBody
+    @ExceptionHandler(EmployeePreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    String employeePreconditionFailedHandler(EmployeePreconditionFailedException ex) {
+        return ex.getMessage();
+    }
+
+    @ResponseBody
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    String optimisticLockingFailureHandler(ObjectOptimisticLockingFailureException ex) {
+        return "Employee " + ex.getIdentifier() + " was modified concurrently, please retry";
+    }
+}
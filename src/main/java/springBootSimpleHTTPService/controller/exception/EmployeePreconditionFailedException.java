@@ -0,0 +1,17 @@
+package springBootSimpleHTTPService.controller.exception;
+
+/**
+ * Clase de la capa Controller, dentro del paquete Exception
+ *
+ * Extiende RuntimeException, de tipo unchecked.
+ *
+ * La exception es lanzada en las peticiones de modificacion de un objeto de tipo Employee que incluyen
+ * la cabecera If-Match, en los casos en los que la ETag indicada no se corresponde con la version
+ * actual del empleado, porque otra peticion lo ha modificado o eliminado antes
+ */
+public class EmployeePreconditionFailedException extends RuntimeException {
+
+    public EmployeePreconditionFailedException(Long id) {
+        super("Employee " + id + " has been modified or deleted, the If-Match precondition failed");
+    }
+}
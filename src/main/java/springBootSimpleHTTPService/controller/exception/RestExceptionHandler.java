@@ -1,5 +1,6 @@
 package springBootSimpleHTTPService.controller.exception;
 
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import springBootSimpleHTTPService.entity.JobEnum;
 
 import java.util.Date;
 import java.util.LinkedHashMap;
@@ -25,6 +27,9 @@ import java.util.stream.Collectors;
  *
  * Lanza una excepción cuando falla la validacion de un argumento anotado con @Valid
  *
+ * Cuando falla la conversion de un nombre de empleo a JobEnum, porque no existe, responde
+ * con el mismo error que cuando no se encuentra un role (RoleNotFoundException)
+ *
  */
 @ControllerAdvice
 public class RestExceptionHandler extends ResponseEntityExceptionHandler {
@@ -52,4 +57,16 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
 
     }
 
+    // error handle for JobEnum
+    @Override
+    protected ResponseEntity<Object> handleTypeMismatch(TypeMismatchException ex, HttpHeaders headers,
+                                                        HttpStatus status, WebRequest request) {
+
+        if (JobEnum.class.equals(ex.getRequiredType())) {
+            return new ResponseEntity<>("Could not find role " + ex.getValue(), headers, HttpStatus.NOT_FOUND);
+        }
+
+        return super.handleTypeMismatch(ex, headers, status, request);
+    }
+
 }
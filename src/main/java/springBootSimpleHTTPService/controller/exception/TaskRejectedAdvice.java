@@ -0,0 +1,32 @@
+package springBootSimpleHTTPService.controller.exception;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Clase de la capa Controller, dentro del paquete Exception
+ *
+ * La anotacion @ControllerAdvice es una especializacion de @Component para clases que declaran
+ * los métodos @ExceptionHandler, @InitBinder o @ModelAttribute para compartir entre varias clases
+ * de @Controller.
+ *
+ * Gestiona las peticiones rechazadas porque la cola del pool de hilos que las atiende esta llena
+ * (ver ExecutorConfiguration), respondiendo 503 (Service Unavailable) con la cabecera Retry-After
+ */
+@ControllerAdvice
+class TaskRejectedAdvice {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(TaskRejectedException.class)
+    ResponseEntity<String> taskRejectedHandler(TaskRejectedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body("The server is busy, please retry later");
+    }
+}
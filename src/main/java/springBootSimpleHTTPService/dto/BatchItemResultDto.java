@@ -0,0 +1,77 @@
+package springBootSimpleHTTPService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Clase de la capa de dominio, implementa el patron Data Transfer Object (DTO Pattern).
+ *
+ * Representa el resultado de un elemento de una peticion de creacion de empleados por lotes:
+ * su posicion en el lote ('index'), el estado ('CREATED' o 'REJECTED') y, segun el estado,
+ * el id asignado al empleado creado o los errores por los que se ha rechazado.
+ *
+ * Los campos sin valor no se incluyen en la respuesta JSON, para que el listado de resultados
+ * sea compacto
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto extends ResponseDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private Long id;
+    private List<String> errors;
+
+    public BatchItemResultDto() {
+    }
+
+    public BatchItemResultDto(int index, String status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BatchItemResultDto created(int index, Long id) {
+        return new BatchItemResultDto(index, CREATED, id, null);
+    }
+
+    public static BatchItemResultDto rejected(int index, List<String> errors) {
+        return new BatchItemResultDto(index, REJECTED, null, errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
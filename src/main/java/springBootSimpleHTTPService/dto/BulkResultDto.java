@@ -0,0 +1,38 @@
+package springBootSimpleHTTPService.dto;
+
+/**
+ * Clase de la capa de dominio, implementa el patron Data Transfer Object (DTO Pattern).
+ *
+ * Representa el resultado de una operacion masiva ejecutada con una unica sentencia SQL
+ * (reasignacion de role, eliminacion por role, ajuste de salario): el nombre de la operacion
+ * y el numero de filas afectadas
+ */
+public class BulkResultDto extends ResponseDto {
+
+    private String operation;
+    private int affected;
+
+    public BulkResultDto() {
+    }
+
+    public BulkResultDto(String operation, int affected) {
+        this.operation = operation;
+        this.affected = affected;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+}
@@ -0,0 +1,111 @@
+package springBootSimpleHTTPService.dto;
+
+/**
+ * Clase de la capa de dominio, implementa el patron Data Transfer Object (DTO Pattern).
+ *
+ * Representa un cambio confirmado en los empleados, publicado en el flujo de eventos
+ * GET /employees/changes/stream (ver EmployeeChangeFeed):
+ *
+ * - type, tipo de cambio: CREATED, UPDATED o DELETED
+ * - employeeId, id del empleado modificado, o null si el cambio es una operacion masiva
+ * - roleId, id del role del empleado tras el cambio (o del role afectado por la operacion masiva),
+ *   o null si no se conoce
+ * - affected, numero de empleados afectados
+ * - timestamp, instante de la publicacion, en milisegundos desde epoch
+ *
+ * Los cambios masivos (creacion por lotes, reasignacion y eliminacion por role) se publican como un unico
+ * evento sin employeeId, ante el que los clientes vuelven a leer el listado de empleados
+ */
+public class EmployeeChangeDto extends ResponseDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    private String type;
+    private Long employeeId;
+    private Long roleId;
+    private int affected;
+    private long timestamp;
+
+    public EmployeeChangeDto() {
+    }
+
+    public EmployeeChangeDto(String type, Long employeeId, Long roleId, int affected) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.roleId = roleId;
+        this.affected = affected;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * @param type, tipo String, tipo de cambio
+     * @param employeeId, tipo Long, id del empleado
+     * @param roleId, tipo Long, id del role del empleado, o null si no se conoce
+     * @return cambio de un unico empleado
+     */
+    public static EmployeeChangeDto employee(String type, Long employeeId, Long roleId) {
+        return new EmployeeChangeDto(type, employeeId, roleId, 1);
+    }
+
+    /**
+     * @param type, tipo String, tipo de cambio
+     * @param roleId, tipo Long, id del role afectado, o null si afecta a varios roles
+     * @param affected, tipo int, numero de empleados afectados
+     * @return cambio de varios empleados
+     */
+    public static EmployeeChangeDto bulk(String type, Long roleId, int affected) {
+        return new EmployeeChangeDto(type, null, roleId, affected);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getRoleId() {
+        return roleId;
+    }
+
+    public void setRoleId(Long roleId) {
+        this.roleId = roleId;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeChangeDto{" +
+                "type='" + type + '\'' +
+                ", employeeId=" + employeeId +
+                ", roleId=" + roleId +
+                ", affected=" + affected +
+                '}';
+    }
+}
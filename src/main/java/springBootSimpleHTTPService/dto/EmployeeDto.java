@@ -1,6 +1,8 @@
 package springBootSimpleHTTPService.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.stereotype.Component;
+import springBootSimpleHTTPService.entity.JobEnum;
 
 import java.math.BigDecimal;
 
@@ -18,6 +20,10 @@ import java.math.BigDecimal;
  * basada en anotaciones y un escaneo de classpath.
  * También se pueden considerar otras anotaciones a nivel de clase como identificación de un componente,
  * normalmente un tipo especial de componente: por ejemplo, la anotación @Repository
+ *
+ * Las consultas de lectura de IEmployeeRepository crean los objetos EmployeeDto directamente
+ * (select new ... EmployeeDto(...)), sin cargar entidades Employee en el contexto de persistencia.
+ * El id y el empleo del role (@JsonIgnore, no forman parte del JSON) se utilizan para construir los enlaces
  */
 @Component
 public class EmployeeDto extends ResponseDto{
@@ -28,9 +34,22 @@ public class EmployeeDto extends ResponseDto{
     private String jobTitle;
     private BigDecimal annualSalary;
 
+    @JsonIgnore
+    private Long roleId;
+    @JsonIgnore
+    private JobEnum jobEnum;
+
     public EmployeeDto() {
     }
 
+    //Constructor utilizado en las consultas JPQL con proyeccion (select new)
+    public EmployeeDto(Long id, String firstName, String lastName, Long roleId, JobEnum jobEnum,
+                       BigDecimal annualSalary) {
+        this(id, firstName, lastName, jobEnum.getJobTitle(), annualSalary);
+        this.roleId = roleId;
+        this.jobEnum = jobEnum;
+    }
+
     public EmployeeDto(Long id, String firstName, String lastName, String jobTitle, BigDecimal annualSalary) {
         this.id = id;
         this.firstName = firstName;
@@ -79,5 +98,13 @@ public class EmployeeDto extends ResponseDto{
         this.annualSalary = annualSalary;
     }
 
+    public Long getRoleId() {
+        return roleId;
+    }
+
+    public JobEnum getJobEnum() {
+        return jobEnum;
+    }
+
 
 }
@@ -0,0 +1,77 @@
+package springBootSimpleHTTPService.dto;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import springBootSimpleHTTPService.util.RejectionCountingPolicy;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Clase de la capa de dominio, utilizada para implementar el patron Data Transfer Object (DTO Pattern)
+ *
+ * Extiende la clase abstracta ResponseDto
+ *
+ * Estado de uno de los pools de hilos definidos en ExecutorConfiguration: hilos, tareas activas,
+ * tareas en cola, tareas completadas y tareas rechazadas
+ */
+public class ExecutorStatsDto extends ResponseDto {
+
+    private String name;
+    private int poolSize;
+    private int activeCount;
+    private int queueSize;
+    private int queueRemainingCapacity;
+    private long completedTaskCount;
+    private long rejectedCount;
+
+    public ExecutorStatsDto() {
+    }
+
+    /**
+     * @param name, tipo String, nombre del bean del pool de hilos
+     * @param executor, instancia de tipo ThreadPoolTaskExecutor
+     * @return objeto de tipo ExecutorStatsDto con el estado actual del pool
+     */
+    public static ExecutorStatsDto of(String name, ThreadPoolTaskExecutor executor) {
+        ThreadPoolExecutor threadPoolExecutor = executor.getThreadPoolExecutor();
+        ExecutorStatsDto stats = new ExecutorStatsDto();
+        stats.name = name;
+        stats.poolSize = threadPoolExecutor.getPoolSize();
+        stats.activeCount = threadPoolExecutor.getActiveCount();
+        stats.queueSize = threadPoolExecutor.getQueue().size();
+        stats.queueRemainingCapacity = threadPoolExecutor.getQueue().remainingCapacity();
+        stats.completedTaskCount = threadPoolExecutor.getCompletedTaskCount();
+        if (threadPoolExecutor.getRejectedExecutionHandler() instanceof RejectionCountingPolicy) {
+            stats.rejectedCount = ((RejectionCountingPolicy) threadPoolExecutor.getRejectedExecutionHandler())
+                    .getRejectedCount();
+        }
+        return stats;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getQueueRemainingCapacity() {
+        return queueRemainingCapacity;
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+}
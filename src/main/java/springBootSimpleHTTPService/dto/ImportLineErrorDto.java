@@ -0,0 +1,39 @@
+package springBootSimpleHTTPService.dto;
+
+import java.util.List;
+
+/**
+ * Clase de la capa de dominio, implementa el patron Data Transfer Object (DTO Pattern).
+ *
+ * Representa una linea rechazada de una importacion CSV de empleados: el numero de linea del fichero
+ * (empezando por 1, incluida la cabecera) y los errores por los que se ha rechazado
+ */
+public class ImportLineErrorDto extends ResponseDto {
+
+    private long line;
+    private List<String> errors;
+
+    public ImportLineErrorDto() {
+    }
+
+    public ImportLineErrorDto(long line, List<String> errors) {
+        this.line = line;
+        this.errors = errors;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
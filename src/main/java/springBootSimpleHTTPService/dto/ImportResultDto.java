@@ -0,0 +1,85 @@
+package springBootSimpleHTTPService.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase de la capa de dominio, implementa el patron Data Transfer Object (DTO Pattern).
+ *
+ * Representa el resultado de una importacion CSV de empleados: numero de registros leidos, creados y
+ * rechazados, y los errores de las primeras lineas rechazadas (como maximo 'maxReportedErrors', para que
+ * el tamaño de la respuesta no dependa del tamaño del fichero). Si la importacion se ha interrumpido
+ * (fichero mal formado o error de lectura), 'aborted' indica el motivo; los empleados validos leidos
+ * antes de la interrupcion se guardan igualmente
+ *
+ * Los campos sin valor no se incluyen en la respuesta JSON
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResultDto extends ResponseDto {
+
+    private long records;
+    private long created;
+    private long rejected;
+    private boolean errorsTruncated;
+    private String aborted;
+    private final List<ImportLineErrorDto> errors = new ArrayList<>();
+
+    private final transient int maxReportedErrors;
+
+    public ImportResultDto(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void recordRead() {
+        records++;
+    }
+
+    public void created(int count) {
+        created += count;
+    }
+
+    public void rejected(long line, List<String> lineErrors) {
+        rejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportLineErrorDto(line, lineErrors));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public void abort(String reason) {
+        this.aborted = reason;
+    }
+
+    @JsonIgnore
+    public boolean isComplete() {
+        return aborted == null && rejected == 0;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public String getAborted() {
+        return aborted;
+    }
+
+    public List<ImportLineErrorDto> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,50 @@
+package springBootSimpleHTTPService.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Clase de la capa de dominio, utilizada para implementar el patron Data Transfer Object (DTO Pattern)
+ *
+ * Extiende la clase abstracta ResponseDto
+ *
+ * Estadisticas de un role: numero de empleados y coste anual total (numero de empleados por salario anual)
+ */
+public class RoleStatsDto extends ResponseDto {
+
+    private Long roleId;
+    private String jobTitle;
+    private BigDecimal annualSalary;
+    private long headcount;
+    private BigDecimal payroll;
+
+    public RoleStatsDto() {
+    }
+
+    public RoleStatsDto(Long roleId, String jobTitle, BigDecimal annualSalary, long headcount) {
+        this.roleId = roleId;
+        this.jobTitle = jobTitle;
+        this.annualSalary = annualSalary;
+        this.headcount = headcount;
+        this.payroll = annualSalary.multiply(BigDecimal.valueOf(headcount));
+    }
+
+    public Long getRoleId() {
+        return roleId;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public BigDecimal getAnnualSalary() {
+        return annualSalary;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public BigDecimal getPayroll() {
+        return payroll;
+    }
+}
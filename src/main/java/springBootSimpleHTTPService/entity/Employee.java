@@ -1,5 +1,10 @@
 package springBootSimpleHTTPService.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import springBootSimpleHTTPService.service.EmployeeStatsListener;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -16,14 +21,36 @@ import java.io.Serializable;
  * La anotacion @ManyToOne especifica una asociación de un solo valor a otra clase de entidad
  * que tiene multiplicidad de muchos a uno, en este caso, la asociacion es con la entidad Role,
  * donde un Employee tiene un unico Role y un Role puede estar asociado a multiples Employees
+ *
+ * El id se obtiene de la secuencia 'employee_seq' con un optimizador pooled (allocationSize > 1):
+ * Hibernate reserva bloques de ids con una sola llamada a la secuencia y conoce el id antes de insertar,
+ * lo que permite agrupar las inserciones en lotes JDBC (con GenerationType.IDENTITY no es posible,
+ * ya que el id solo se conoce despues de ejecutar cada INSERT)
+ *
+ * La anotacion @Version indica la columna de version utilizada para el bloqueo optimista: Hibernate
+ * la incrementa en cada UPDATE y la incluye en su clausula WHERE, de forma que una modificacion
+ * concurrente falla en lugar de sobrescribir la anterior. Se utiliza tambien para generar la ETag
+ * del empleado y no forma parte del JSON de entrada
+ *
+ * La anotacion @EntityListeners registra EmployeeStatsListener, que mantiene el numero de empleados
+ * por role (RoleStatsAggregator). El atributo 'loadedRoleId' (@Transient, no persistente) guarda el
+ * id del role con el que se cargo el empleado, para detectar los cambios de role
+ *
+ * Las anotaciones @Cacheable y @Cache almacenan los empleados en la cache de segundo nivel de Hibernate
+ * (ver CacheConfiguration), con estrategia READ_WRITE: la entrada se actualiza al confirmar cada
+ * modificacion y se elimina al confirmar su eliminacion
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(EmployeeStatsListener.class)
 @Table(name="employee") //en caso que la tabla sea diferente
 public class Employee implements Serializable {
 
     //Atributos de entidad employee
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)//busca ultimo valor e incrementa desde id final de db
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "firstname")//no hace falta si se llama igual
@@ -39,6 +66,15 @@ public class Employee implements Serializable {
     @NotNull(message = "\"role\" with a {\"id\"} element is required")
     private Role role;
 
+    @Version
+    @Column(name = "version")
+    @JsonIgnore
+    private Long version;
+
+    @Transient
+    @JsonIgnore
+    private Long loadedRoleId;
+
     public Employee() {
     }
 
@@ -81,6 +117,22 @@ public class Employee implements Serializable {
         this.role = role;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getLoadedRoleId() {
+        return loadedRoleId;
+    }
+
+    public void setLoadedRoleId(Long loadedRoleId) {
+        this.loadedRoleId = loadedRoleId;
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
@@ -1,6 +1,10 @@
 package springBootSimpleHTTPService.entity;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Tipo Enum de la capa de dominio.
@@ -10,6 +14,13 @@ import java.math.BigDecimal;
  * 'jobTitle', String para indicar el nombre del empleo
  * 'dollars', BigDecimal para indicar el salario que corresponde a cada empleo
  *
+ * La resolucion de un nombre de empleo a su valor de JobEnum se hace mediante dos indices
+ * precalculados al cargar la clase, en lugar de recorrer values() en cada llamada:
+ * uno exacto, por 'jobTitle', y otro que no distingue mayusculas de minusculas, por 'jobTitle'
+ * y por el nombre de la constante (por ejemplo "software engineer" o "Software_Engineer").
+ * Ambos son HashMap, por lo que la busqueda es de tiempo constante. El indice que no distingue mayusculas
+ * de minusculas guarda las claves en minusculas, y la busqueda convierte el nombre recibido con
+ * toLowerCase(Locale.ROOT), que solo crea un nuevo String si el nombre contiene alguna mayuscula
  */
 public enum JobEnum {
 
@@ -25,8 +36,23 @@ public enum JobEnum {
     IT_Director("IT Director", BigDecimal.valueOf(67000)),
     Cloud_System_Engineer("Cloud System Engineer", BigDecimal.valueOf(55000));
 
-    private String jobTitle;
-    private BigDecimal dollars;
+    private static final Map<String, JobEnum> BY_JOB_TITLE;
+    private static final Map<String, JobEnum> BY_JOB_TITLE_IGNORE_CASE;
+
+    static {
+        Map<String, JobEnum> byJobTitle = new HashMap<>();
+        Map<String, JobEnum> byJobTitleIgnoreCase = new HashMap<>();
+        for (JobEnum jobEnum : values()) {
+            byJobTitle.put(jobEnum.jobTitle, jobEnum);
+            byJobTitleIgnoreCase.put(jobEnum.jobTitle.toLowerCase(Locale.ROOT), jobEnum);
+            byJobTitleIgnoreCase.put(jobEnum.name().toLowerCase(Locale.ROOT), jobEnum);
+        }
+        BY_JOB_TITLE = Collections.unmodifiableMap(byJobTitle);
+        BY_JOB_TITLE_IGNORE_CASE = Collections.unmodifiableMap(byJobTitleIgnoreCase);
+    }
+
+    private final String jobTitle;
+    private final BigDecimal dollars;
 
     JobEnum(String jobTitle, BigDecimal dollars) {
         this.jobTitle = jobTitle;
@@ -37,15 +63,23 @@ public enum JobEnum {
         return jobTitle;
     }
 
-    public void setJobTitle(String jobTitle) {
-        this.jobTitle = jobTitle;
-    }
-
     public BigDecimal getDollars() {
         return dollars;
     }
 
-    public void setDollars(BigDecimal dollars) {
-        this.dollars = dollars;
+    /**
+     * @param jobTitle, tipo String, nombre exacto del empleo, tal y como se guarda en base de datos
+     * @return valor de JobEnum con ese nombre de empleo, o null si no existe
+     */
+    public static JobEnum fromJobTitle(String jobTitle) {
+        return jobTitle == null ? null : BY_JOB_TITLE.get(jobTitle);
+    }
+
+    /**
+     * @param jobTitle, tipo String, nombre del empleo o de la constante, sin distinguir mayusculas de minusculas
+     * @return valor de JobEnum con ese nombre de empleo, o null si no existe
+     */
+    public static JobEnum fromJobTitleIgnoreCase(String jobTitle) {
+        return jobTitle == null ? null : BY_JOB_TITLE_IGNORE_CASE.get(jobTitle.toLowerCase(Locale.ROOT));
     }
 }
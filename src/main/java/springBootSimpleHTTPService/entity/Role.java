@@ -1,5 +1,8 @@
 package springBootSimpleHTTPService.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -11,8 +14,13 @@ import java.math.BigDecimal;
  *
  * La anotacion @Table indica que la clase sera mapeada a una tabla y persistida, en este caso,
  * a una base de datos embebida de tipo H2.
+ *
+ * Las anotaciones @Cacheable y @Cache almacenan los roles en la cache de segundo nivel de Hibernate
+ * (ver CacheConfiguration), de forma que cargar el role de un empleado no accede a la base de datos
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name="role") //en caso que la tabla sea diferente
 public class Role implements Serializable {
 
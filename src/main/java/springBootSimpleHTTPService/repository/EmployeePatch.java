@@ -0,0 +1,96 @@
+package springBootSimpleHTTPService.repository;
+
+import springBootSimpleHTTPService.entity.Role;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Clase de la capa Repository
+ *
+ * Modificacion parcial de un empleado de IEmployeePatchRepository, obtenida de un documento JSON Merge Patch
+ * (RFC 7386). Solo los atributos distintos de null forman parte de la sentencia UPDATE:
+ *
+ * - firstName y lastName, nuevos nombre y apellido
+ * - role, nuevo role del empleado
+ * - expectedVersions, versiones de la entidad admitidas, obtenidas de la cabecera If-Match, o null si la
+ *   modificacion no es condicional. Se trasladan a la clausula WHERE de la sentencia UPDATE, de forma que la
+ *   comprobacion y la modificacion son atomicas
+ */
+public class EmployeePatch {
+
+    private String firstName;
+    private String lastName;
+    private Role role;
+    private Set<Long> expectedVersions;
+
+    public EmployeePatch() {
+    }
+
+    /**
+     * @return true si el documento no modifica ningun atributo
+     */
+    public boolean isEmpty() {
+        return firstName == null && lastName == null && role == null;
+    }
+
+    /**
+     * @return listado de los nombres de los atributos modificados, para el log de auditoria
+     */
+    public List<String> getFieldNames() {
+        List<String> fieldNames = new ArrayList<>(3);
+        if (firstName != null) {
+            fieldNames.add("firstName");
+        }
+        if (lastName != null) {
+            fieldNames.add("lastName");
+        }
+        if (role != null) {
+            fieldNames.add("role");
+        }
+        return fieldNames;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public Set<Long> getExpectedVersions() {
+        return expectedVersions;
+    }
+
+    public void setExpectedVersions(Set<Long> expectedVersions) {
+        this.expectedVersions = expectedVersions;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeePatch{" +
+                "firstName='" + firstName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                ", role=" + role +
+                ", expectedVersions=" + expectedVersions +
+                '}';
+    }
+}
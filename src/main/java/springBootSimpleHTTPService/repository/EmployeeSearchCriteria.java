@@ -0,0 +1,80 @@
+package springBootSimpleHTTPService.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Clase de la capa Repository
+ *
+ * Criterios de busqueda de empleados de IEmployeeSearchRepository: filtros, ordenacion y pagina.
+ *
+ * - namePrefix, prefijo del nombre o del apellido (distingue mayusculas y minusculas, para que la
+ *   condicion LIKE 'prefijo%' pueda resolverse con los indices de firstname y lastname)
+ * - roleIds, ids de los roles admitidos, o null si no se filtra por role. Los filtros por role y por
+ *   rango de salario se traducen a este listado, ya que el salario es un atributo del role
+ * - sortProperty y descending, atributo de ordenacion, uno de SORT_PROPERTIES. El id se utiliza siempre
+ *   como segundo criterio, para que el orden sea estable entre paginas
+ * - offset y limit, primera fila y numero maximo de filas
+ */
+public class EmployeeSearchCriteria {
+
+    public static final Set<String> SORT_PROPERTIES = Set.of("id", "firstName", "lastName", "annualSalary");
+
+    private String namePrefix;
+    private Collection<Long> roleIds;
+    private String sortProperty = "id";
+    private boolean descending;
+    private int offset;
+    private int limit;
+
+    public EmployeeSearchCriteria() {
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public Collection<Long> getRoleIds() {
+        return roleIds;
+    }
+
+    public void setRoleIds(Collection<Long> roleIds) {
+        this.roleIds = roleIds;
+    }
+
+    public String getSortProperty() {
+        return sortProperty;
+    }
+
+    public void setSortProperty(String sortProperty) {
+        this.sortProperty = sortProperty;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,10 @@
+package springBootSimpleHTTPService.repository;
+
+/**
+ * Interface de la capa Repository, fragmento de IEmployeeRepository con la modificacion parcial de un empleado,
+ * implementada en IEmployeePatchRepositoryImpl mediante una sentencia UPDATE construida con las columnas indicadas
+ */
+public interface IEmployeePatchRepository {
+
+    int patchEmployee(Long id, EmployeePatch patch); //Actualiza solo las columnas indicadas, devuelve las filas modificadas
+}
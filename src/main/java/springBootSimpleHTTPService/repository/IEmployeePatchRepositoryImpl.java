@@ -0,0 +1,69 @@
+package springBootSimpleHTTPService.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+/**
+ * Clase de la capa Repository, implementa el fragmento IEmployeePatchRepository de IEmployeeRepository.
+ * Spring Data detecta la implementacion por su nombre (nombre del fragmento con el sufijo Impl)
+ *
+ * Construye una unica sentencia JPQL UPDATE con las columnas presentes en la modificacion, sin leer
+ * previamente el empleado, del tipo:
+ * UPDATE employee SET version = version + 1, firstname = ? WHERE id = ? AND version IN (...)
+ *
+ * Al igual que las sentencias @Modifying de IEmployeeRepository, incrementa la columna 'version' para que
+ * cambie la ETag del empleado y las modificaciones concurrentes lo detecten, vacia el contexto de persistencia
+ * antes de ejecutarla y lo limpia despues. Hibernate invalida la region de Employee de la cache de segundo
+ * nivel y las consultas cacheadas sobre la tabla employee
+ *
+ * Anotaciones:
+ * @PersistenceContext
+ * Inyecta el EntityManager compartido asociado a la transaccion en curso
+ */
+public class IEmployeePatchRepositoryImpl implements IEmployeePatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patchEmployee(Long id, EmployeePatch patch) {
+
+        StringBuilder jpql = new StringBuilder("update Employee e set e.version = e.version + 1");
+        if (patch.getFirstName() != null) {
+            jpql.append(", e.firstName = :firstName");
+        }
+        if (patch.getLastName() != null) {
+            jpql.append(", e.lastName = :lastName");
+        }
+        if (patch.getRole() != null) {
+            jpql.append(", e.role = :role");
+        }
+        jpql.append(" where e.id = :id");
+        if (patch.getExpectedVersions() != null) {
+            jpql.append(" and e.version in :versions");
+        }
+
+        entityManager.flush();
+
+        Query query = entityManager.createQuery(jpql.toString()).setParameter("id", id);
+        if (patch.getFirstName() != null) {
+            query.setParameter("firstName", patch.getFirstName());
+        }
+        if (patch.getLastName() != null) {
+            query.setParameter("lastName", patch.getLastName());
+        }
+        if (patch.getRole() != null) {
+            query.setParameter("role", patch.getRole());
+        }
+        if (patch.getExpectedVersions() != null) {
+            query.setParameter("versions", patch.getExpectedVersions());
+        }
+
+        int updated = query.executeUpdate();
+
+        entityManager.clear();
+
+        return updated;
+    }
+}
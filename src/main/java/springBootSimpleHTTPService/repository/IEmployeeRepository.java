@@ -1,20 +1,117 @@
 package springBootSimpleHTTPService.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import springBootSimpleHTTPService.configuration.CacheConfiguration;
+import springBootSimpleHTTPService.dto.EmployeeDto;
 import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * Interface de la capa Repository, extiende JpaRepository
  *
+ * Los metodos 'find...AfterId' implementan la paginacion por cursor (keyset pagination):
+ * recuperan los empleados cuyo id es mayor que el ultimo id devuelto en la pagina anterior,
+ * ordenados por id, de tal forma que la consulta generada es del tipo
+ * WHERE id > ? ORDER BY id LIMIT ?, y puede resolverse recorriendo el indice de la clave primaria
+ * sin necesidad de descartar filas (a diferencia de la paginacion por OFFSET).
+ * El tamaño de pagina se indica mediante el parametro Pageable (solo se utiliza su tamaño, no su offset)
+ *
+ * Los metodos de listado y busqueda cargan el Role asociado en la misma consulta (join con role),
+ * ya que la asociacion Employee.role es LAZY y la conversion a EmployeeDto siempre accede a ella:
+ * de lo contrario se ejecutaria una consulta adicional por cada role distinto (N+1)
+ *
+ * Los metodos de lectura utilizados por los listados de la API (paginas, busqueda y exportacion) son
+ * proyecciones (EMPLOYEE_DTO_SELECT): seleccionan solo las columnas de EmployeeDto, uniendo employee y role,
+ * y crean directamente los objetos EmployeeDto. Hibernate no crea entidades gestionadas ni guarda su
+ * estado original para el dirty checking, y el resultado no depende de la carga LAZY del role
+ *
+ * El metodo 'streamAllEmployees' recorre la tabla completa mediante un cursor JDBC, leyendo las filas
+ * en bloques de EXPORT_FETCH_SIZE, en lugar de cargar todo el resultado en memoria. Debe consumirse
+ * dentro de una transaccion y el Stream debe cerrarse al terminar
+ *
+ * La busqueda por criterios variables (searchEmployees) se define en el fragmento IEmployeeSearchRepository
+ * y la modificacion parcial de un empleado (patchEmployee), en el fragmento IEmployeePatchRepository
+ *
+ * El metodo 'findRoleIdForUpdate' lee el role actual de un empleado bloqueando su fila (SELECT ... FOR UPDATE)
+ * hasta el final de la transaccion, para que la modificacion parcial de un empleado actualice los recuentos
+ * por role sin que otra modificacion concurrente del mismo empleado cambie el role entre la lectura y el UPDATE
+ *
+ * Los metodos @Modifying son operaciones masivas que se ejecutan con una unica sentencia UPDATE o DELETE,
+ * sin cargar los empleados, y devuelven el numero de filas afectadas. Los UPDATE incrementan la columna
+ * version, ya que no pasan por el bloqueo optimista de Hibernate, para que las ETags y las modificaciones
+ * concurrentes (PUT con If-Match) detecten el cambio. Hibernate invalida la cache de segundo nivel de
+ * Employee y la cache de consultas, pero no se invocan los receptores de eventos de la entidad
+ * (EmployeeStatsListener), por lo que la capa de servicio actualiza los recuentos por role
+ *
+ * Las paginas de empleados por role (findEmployeesByRoleIdAfterId) se almacenan en la cache de consultas
+ * de Hibernate (region CacheConfiguration.EMPLOYEES_BY_ROLE_REGION). Al ser una proyeccion, la cache guarda
+ * los valores de cada fila, por lo que un acierto no accede a la cache de segundo nivel ni a la base de datos.
+ * Hibernate descarta el resultado cuando se modifica la tabla employee o role despues de haberlo almacenado
  */
 @Repository
 @Transactional
-public interface IEmployeeRepository extends JpaRepository<Employee, Long> {
+public interface IEmployeeRepository extends JpaRepository<Employee, Long>, IEmployeeSearchRepository,
+        IEmployeePatchRepository {
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    String EMPLOYEE_DTO_SELECT = "select new springBootSimpleHTTPService.dto.EmployeeDto("
+            + "e.id, e.firstName, e.lastName, r.id, r.jobEnum, r.annualSalary) from Employee e join e.role r ";
+
+    @Query(EMPLOYEE_DTO_SELECT + "where e.id > :afterId order by e.id")
+    List<EmployeeDto> findEmployeesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(EMPLOYEE_DTO_SELECT + "where r.id = :roleId and e.id > :afterId order by e.id")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheConfiguration.EMPLOYEES_BY_ROLE_REGION)})
+    List<EmployeeDto> findEmployeesByRoleIdAfterId(@Param("roleId") Long roleId, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @Query(EMPLOYEE_DTO_SELECT + "order by e.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<EmployeeDto> streamAllEmployees();
+
+    @Query("select e.role.id as roleId, count(e) as headcount from Employee e group by e.role.id")
+    List<RoleHeadcount> countEmployeesByRole();
+
+    @Query("select e.role.id as roleId, count(e) as headcount from Employee e "
+            + "where e.id in :ids and e.role <> :toRole group by e.role.id")
+    List<RoleHeadcount> countEmployeesByRoleForIds(@Param("ids") Collection<Long> ids, @Param("toRole") Role toRole);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.role.id from Employee e where e.id = :id")
+    Optional<Long> findRoleIdForUpdate(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.role = :toRole, e.version = e.version + 1 where e.role = :fromRole")
+    int reassignRole(@Param("fromRole") Role fromRole, @Param("toRole") Role toRole);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.role = :toRole, e.version = e.version + 1 "
+            + "where e.id in :ids and e.role <> :toRole")
+    int reassignEmployees(@Param("ids") Collection<Long> ids, @Param("toRole") Role toRole);
 
-    List<Employee> findEmployeesByRoleId(Long roleId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.role = :role")
+    int deleteEmployeesByRole(@Param("role") Role role);
 
 }
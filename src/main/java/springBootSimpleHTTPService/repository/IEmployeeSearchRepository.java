@@ -0,0 +1,14 @@
+package springBootSimpleHTTPService.repository;
+
+import springBootSimpleHTTPService.dto.EmployeeDto;
+
+import java.util.List;
+
+/**
+ * Interface de la capa Repository, fragmento de IEmployeeRepository con la busqueda de empleados por
+ * criterios variables, implementada en IEmployeeSearchRepositoryImpl mediante la API Criteria de JPA
+ */
+public interface IEmployeeSearchRepository {
+
+    List<EmployeeDto> searchEmployees(EmployeeSearchCriteria criteria); //Busca empleados por nombre, role y salario
+}
@@ -0,0 +1,100 @@
+package springBootSimpleHTTPService.repository;
+
+import springBootSimpleHTTPService.dto.EmployeeDto;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Clase de la capa Repository, implementa el fragmento IEmployeeSearchRepository de IEmployeeRepository.
+ * Spring Data detecta la implementacion por su nombre (nombre del fragmento con el sufijo Impl)
+ *
+ * Construye, con la API Criteria de JPA, una unica consulta con los filtros indicados en los criterios,
+ * que une cada empleado con su role y crea directamente los objetos EmployeeDto (proyeccion), del tipo:
+ * SELECT ... FROM employee e JOIN role r ON ... WHERE (e.firstname LIKE ? OR e.lastname LIKE ?)
+ * AND e.role_id IN (...) ORDER BY ..., e.id LIMIT ? OFFSET ?
+ *
+ * Anotaciones:
+ * @PersistenceContext
+ * Inyecta el EntityManager compartido asociado a la transaccion en curso
+ */
+public class IEmployeeSearchRepositoryImpl implements IEmployeeSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeDto> searchEmployees(EmployeeSearchCriteria criteria) {
+
+        //ningun role cumple los filtros de role y salario, no hace falta consultar la base de datos
+        if (criteria.getRoleIds() != null && criteria.getRoleIds().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDto> query = builder.createQuery(EmployeeDto.class);
+        Root<Employee> employee = query.from(Employee.class);
+        Join<Employee, Role> role = employee.join("role", JoinType.INNER);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getNamePrefix() != null && !criteria.getNamePrefix().isEmpty()) {
+            String pattern = escapeLike(criteria.getNamePrefix()) + "%";
+            predicates.add(builder.or(
+                    builder.like(employee.get("firstName"), pattern, LIKE_ESCAPE),
+                    builder.like(employee.get("lastName"), pattern, LIKE_ESCAPE)));
+        }
+        if (criteria.getRoleIds() != null) {
+            predicates.add(role.get("id").in(criteria.getRoleIds()));
+        }
+
+        Expression<?> sortExpression = "annualSalary".equals(criteria.getSortProperty())
+                ? role.get("annualSalary")
+                : employee.get(criteria.getSortProperty());
+        List<Order> orders = new ArrayList<>();
+        orders.add(criteria.isDescending() ? builder.desc(sortExpression) : builder.asc(sortExpression));
+        if (!"id".equals(criteria.getSortProperty())) {
+            orders.add(builder.asc(employee.get("id")));
+        }
+
+        query.select(builder.construct(EmployeeDto.class,
+                        employee.get("id"), employee.get("firstName"), employee.get("lastName"),
+                        role.get("id"), role.get("jobEnum"), role.get("annualSalary")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setFirstResult(criteria.getOffset())
+                .setMaxResults(criteria.getLimit())
+                .getResultList();
+    }
+
+    /**
+     * @param value, tipo String, texto introducido por el cliente
+     * @return el texto con los caracteres especiales de LIKE (%, _ y el caracter de escape) escapados
+     */
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -1,16 +1,23 @@
 package springBootSimpleHTTPService.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import springBootSimpleHTTPService.entity.JobEnum;
 import springBootSimpleHTTPService.entity.Role;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 /**
  * Interface de la capa Repository, extiende JpaRepository
  *
+ * El metodo 'multiplySalary' modifica el salario de un role con una unica sentencia UPDATE; la columna
+ * annualsalary (decimal(9,2)) redondea el resultado a dos decimales. Hibernate invalida la cache de
+ * segundo nivel de Role, pero no el registro de roles en memoria, que recarga la capa de servicio
  */
 @Repository
 @Transactional
@@ -18,4 +25,8 @@ public interface IRoleRepository extends JpaRepository<Role, Long> {
 
     Optional<Role> findRoleByJobEnum(JobEnum jobEnum);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Role r set r.annualSalary = r.annualSalary * :factor where r.id = :id")
+    int multiplySalary(@Param("id") Long id, @Param("factor") BigDecimal factor);
+
 }
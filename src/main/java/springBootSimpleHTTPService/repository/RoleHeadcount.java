@@ -0,0 +1,12 @@
+package springBootSimpleHTTPService.repository;
+
+/**
+ * Interface de la capa Repository, proyeccion del recuento de empleados por role
+ * (IEmployeeRepository.countEmployeesByRole)
+ */
+public interface RoleHeadcount {
+
+    Long getRoleId();
+
+    Long getHeadcount();
+}
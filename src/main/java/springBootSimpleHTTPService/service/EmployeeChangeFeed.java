@@ -0,0 +1,346 @@
+package springBootSimpleHTTPService.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import springBootSimpleHTTPService.configuration.ExecutorConfiguration;
+import springBootSimpleHTTPService.dto.EmployeeChangeDto;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase de la capa Service
+ *
+ * Publica los cambios confirmados en los empleados como Server-Sent Events (GET /employees/changes/stream),
+ * de forma que la interfaz web y los sistemas que replican los empleados no tienen que volver a leer el
+ * listado completo periodicamente para detectar cambios:
+ *
+ * - la capa de servicio notifica cada cambio con 'publish(change)'. Dentro de una transaccion, el cambio
+ *   solo se publica cuando la transaccion se confirma, por lo que una transaccion cancelada no publica nada
+ * - los ultimos 'employees.changes.history-size' eventos se guardan en un buffer circular. Cada evento tiene
+ *   un id creciente, precedido de un prefijo distinto en cada arranque. Un cliente que se reconecta con la
+ *   cabecera Last-Event-ID recibe los eventos posteriores que siguen en el buffer; si ya no estan (o el id
+ *   es de un arranque anterior), recibe un evento 'reset' y debe volver a leer el listado completo
+ * - cada suscriptor tiene una cola acotada de 'employees.changes.subscriber-buffer-size' eventos, que se
+ *   envian desde el pool de hilos changeFeedExecutor, nunca desde el hilo que confirma la transaccion.
+ *   Si la cola de un suscriptor se llena porque no consume los eventos al ritmo al que se publican, se
+ *   cierra su conexion (el navegador se reconecta automaticamente con Last-Event-ID), en lugar de retener
+ *   memoria sin limite o ralentizar la publicacion para el resto de suscriptores
+ * - cada 'employees.changes.heartbeat-ms' se envia un comentario a cada suscriptor, que mantiene abierta la
+ *   conexion a traves de proxies y detecta los clientes desconectados
+ *
+ * Anotaciones:
+ * @Component
+ * Indica que una clase es un "componente".
+ * Estas clases se consideran candidatas para la detección automática cuando se utiliza una configuración
+ * basada en anotaciones y un escaneo de classpath.
+ *
+ * @Scheduled
+ * Marca un metodo como tarea programada, ejecutada periodicamente (requiere @EnableScheduling,
+ * declarada en SpringConfiguration)
+ *
+ * @PreDestroy
+ * Marca el metodo que se ejecuta al destruir el bean, al parar la aplicacion
+ */
+@Component
+public class EmployeeChangeFeed {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    public static final String RESET_EVENT = "reset";
+
+    private final Executor changeFeedExecutor;
+    private final int subscriberBufferSize;
+    private final int maxSubscribers;
+    private final long subscriberTimeoutMs;
+
+    //prefijo de los ids de evento, distinto en cada arranque
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    //buffer circular de los ultimos eventos, indexado por numero de secuencia; protegido por this
+    private final ChangeEvent[] history;
+    private long nextSequence = 1;
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+
+    @Autowired
+    public EmployeeChangeFeed(@Qualifier(ExecutorConfiguration.CHANGE_FEED_EXECUTOR) Executor changeFeedExecutor,
+                              @Value("${employees.changes.history-size:1024}") int historySize,
+                              @Value("${employees.changes.subscriber-buffer-size:256}") int subscriberBufferSize,
+                              @Value("${employees.changes.max-subscribers:100}") int maxSubscribers,
+                              @Value("${employees.changes.timeout-ms:1800000}") long subscriberTimeoutMs) {
+        this.changeFeedExecutor = changeFeedExecutor;
+        this.history = new ChangeEvent[historySize];
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberTimeoutMs = subscriberTimeoutMs;
+    }
+
+    /**
+     * Publica un cambio cuando se confirma la transaccion en curso (o inmediatamente, si no hay transaccion)
+     *
+     * @param change, objeto de tipo EmployeeChangeDto
+     */
+    public void publish(EmployeeChangeDto change) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(change);
+            }
+        });
+    }
+
+    /**
+     * Registra un nuevo suscriptor. Si se indica el id del ultimo evento recibido, antes de los nuevos eventos
+     * se envian los eventos posteriores que siguen en el buffer, o un evento 'reset' si ya no estan
+     *
+     * @param lastEventId, tipo String, valor de la cabecera Last-Event-ID, o null en la primera conexion
+     * @return objeto de tipo SseEmitter, respuesta en la que se escriben los eventos
+     */
+    public SseEmitter subscribe(String lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(subscriberTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, subscriberBufferSize);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+
+        //los envios anteriores a la inicializacion de la respuesta se guardan en el SseEmitter y se escriben
+        //despues, en orden; el bloqueo garantiza que entre la repeticion y los nuevos eventos no falta ninguno
+        synchronized (this) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new TaskRejectedException("Too many change feed subscribers: " + maxSubscribers);
+            }
+            try {
+                replay(emitter, lastEventId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            subscribers.add(subscriber);
+        }
+
+        LOGGER.debug("Change feed subscriber registered, Last-Event-ID {}, {} subscribers", lastEventId,
+                subscribers.size());
+
+        return emitter;
+    }
+
+    /**
+     * Envia un comentario a cada suscriptor, para mantener abiertas las conexiones inactivas
+     */
+    @Scheduled(fixedRateString = "${employees.changes.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatPending.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    private void append(EmployeeChangeDto change) {
+
+        List<Subscriber> overflowed = new ArrayList<>(0);
+
+        synchronized (this) {
+            ChangeEvent event = new ChangeEvent(nextSequence++, change);
+            history[(int) (event.sequence % history.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(event)) {
+                    overflowed.add(subscriber);
+                }
+            }
+        }
+        publishedCount.increment();
+
+        overflowed.forEach(this::evict);
+        subscribers.forEach(this::schedule);
+    }
+
+    /**
+     * Envia los eventos del buffer posteriores a lastEventId, o un evento 'reset' si el cliente ha perdido
+     * eventos que ya no estan en el buffer. El evento 'reset' lleva el id del ultimo evento publicado, para
+     * que la siguiente reconexion continue a partir de el. Se invoca con el bloqueo de this
+     */
+    private void replay(SseEmitter emitter, String lastEventId) throws IOException {
+
+        if (lastEventId == null) {
+            return;
+        }
+
+        long lastSequence = parseSequence(lastEventId);
+        long oldestSequence = Math.max(1, nextSequence - history.length);
+
+        if (lastSequence < oldestSequence - 1 || lastSequence >= nextSequence) {
+            emitter.send(SseEmitter.event().id(eventId(nextSequence - 1)).name(RESET_EVENT).data(RESET_EVENT));
+            return;
+        }
+
+        for (long sequence = lastSequence + 1; sequence < nextSequence; sequence++) {
+            emitter.send(toSseEvent(history[(int) (sequence % history.length)]));
+        }
+    }
+
+    /**
+     * Programa el envio de los eventos pendientes de un suscriptor en el pool changeFeedExecutor. Cada
+     * suscriptor tiene como maximo una tarea de envio programada, por lo que sus eventos se envian en orden
+     */
+    private void schedule(Subscriber subscriber) {
+
+        if (subscriber.closed || !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            changeFeedExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.scheduled.set(false);
+            evict(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+
+        try {
+            ChangeEvent event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(toSseEvent(event));
+            }
+            if (subscriber.heartbeatPending.getAndSet(false) && !subscriber.closed) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            //el cliente se ha desconectado o la respuesta ya se ha completado
+            LOGGER.debug("Change feed subscriber disconnected: {}", e.getMessage());
+            remove(subscriber);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+
+        //eventos publicados mientras terminaba el envio
+        if (!subscriber.closed && (!subscriber.queue.isEmpty() || subscriber.heartbeatPending.get())) {
+            schedule(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            evictedCount.increment();
+            LOGGER.info("Change feed subscriber evicted, it did not keep up with {} pending events",
+                    subscriberBufferSize);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.queue.clear();
+        return subscribers.remove(subscriber);
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(ChangeEvent event) {
+        return SseEmitter.event()
+                .id(eventId(event.sequence))
+                .data(event.change, MediaType.APPLICATION_JSON);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * @param lastEventId, tipo String, valor de la cabecera Last-Event-ID
+     * @return numero de secuencia del evento, o -1 si el id no es valido o es de un arranque anterior
+     */
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Evento publicado: numero de secuencia y cambio
+     */
+    private static final class ChangeEvent {
+
+        private final long sequence;
+        private final EmployeeChangeDto change;
+
+        private ChangeEvent(long sequence, EmployeeChangeDto change) {
+            this.sequence = sequence;
+            this.change = change;
+        }
+    }
+
+    /**
+     * Suscriptor: respuesta SSE, cola acotada de eventos pendientes de envio y estado de su tarea de envio
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package springBootSimpleHTTPService.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import springBootSimpleHTTPService.dto.ImportResultDto;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.JobEnum;
+import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.util.CsvReader;
+
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Clase de la capa Service, implementa la interface IEmployeeImportService
+ *
+ * Importa empleados desde un CSV con cabecera, con las columnas firstName, lastName y jobTitle en
+ * cualquier orden (sin distinguir mayusculas de minusculas; se ignoran las columnas adicionales).
+ * El empleo se indica por su nombre ('Software Engineer') o por el de la constante de JobEnum
+ * ('Software_Engineer') y se resuelve en el registro de roles en memoria.
+ *
+ * El CSV se lee registro a registro (CsvReader) y los empleados validos se guardan en bloques de
+ * 'employees.import.chunk-size' empleados, cada uno en su propia transaccion mediante el metodo
+ * 'saveEmployees(employees)' de EmployeeServiceImpl (lotes JDBC), por lo que la memoria utilizada no
+ * depende del tamaño del fichero. Si un bloque falla en la base de datos (por ejemplo, un valor demasiado
+ * largo para su columna), se reintenta empleado a empleado, de forma que solo se rechazan las lineas
+ * erroneas y no el bloque completo ni el fichero. Un registro que supera la longitud maxima tambien se
+ * rechaza solo; un error de formato que impide seguir leyendo (comillas sin cerrar al final del fichero)
+ * o de lectura detiene la importacion, despues de guardar los empleados validos ya leidos
+ *
+ * Anotaciones:
+ * @Service
+ * Indica que la clase es un "Servicio", esto es, una operación ofrecida como una interface que esta solo en el modelo,
+ * sin un estado encapsulado.
+ *
+ * @Autowired
+ * Marca un constructor, campo, metodo setter o metodo de configuracion para ser detectado
+ * automaticamente por la funcionalidad de inyeccion de dependencias de Spring
+ *
+ * @Value
+ * Inyecta el valor de una propiedad del archivo application.properties
+ */
+@Service
+public class EmployeeImportServiceImpl implements IEmployeeImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+
+    private static final String FIRST_NAME = "firstname";
+    private static final String LAST_NAME = "lastname";
+    private static final String JOB_TITLE = "jobtitle";
+
+    @Autowired
+    IEmployeeService iEmployeeService;
+
+    @Autowired
+    IRoleService iRoleService;
+
+    @Autowired
+    Validator validator;
+
+    @Value("${employees.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${employees.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${employees.import.max-record-length:4096}")
+    private int maxRecordLength;
+
+    @Override
+    public ImportResultDto importEmployees(Reader csv) {
+
+        ImportResultDto result = new ImportResultDto(maxReportedErrors);
+        CsvReader reader = new CsvReader(csv, maxRecordLength);
+
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        try {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                result.abort("The file is empty");
+                return result;
+            }
+            int firstNameColumn = columnIndex(header, FIRST_NAME);
+            int lastNameColumn = columnIndex(header, LAST_NAME);
+            int jobTitleColumn = columnIndex(header, JOB_TITLE);
+            if (firstNameColumn < 0 || lastNameColumn < 0 || jobTitleColumn < 0) {
+                result.abort("The header must contain the columns firstName, lastName and jobTitle");
+                return result;
+            }
+
+            List<String> record;
+            while ((record = nextRecord(reader, result)) != null) {
+                result.recordRead();
+
+                Employee employee = new Employee();
+                employee.setFirstName(field(record, firstNameColumn));
+                employee.setLastName(field(record, lastNameColumn));
+
+                List<String> errors = new ArrayList<>();
+                String jobTitle = field(record, jobTitleColumn);
+                Optional<Role> role = Optional.ofNullable(JobEnum.fromJobTitleIgnoreCase(jobTitle))
+                        .flatMap(iRoleService::findRoleByJobEnum);
+                if (role.isPresent()) {
+                    employee.setRole(role.get());
+                } else {
+                    errors.add("Unknown job title: " + jobTitle);
+                }
+                for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+                    if (!"role".equals(violation.getPropertyPath().toString())) {
+                        errors.add(violation.getMessage());
+                    }
+                }
+
+                if (!errors.isEmpty()) {
+                    result.rejected(reader.getRecordLine(), errors);
+                    continue;
+                }
+
+                chunk.add(employee);
+                chunkLines.add(reader.getRecordLine());
+                if (chunk.size() == chunkSize) {
+                    saveChunk(chunk, chunkLines, result);
+                }
+            }
+            saveChunk(chunk, chunkLines, result);
+
+        } catch (IOException e) {
+            //fichero mal formado, gzip corrupto o conexion interrumpida: se mantienen los bloques ya confirmados
+            //y se guardan los empleados validos leidos antes del error, de forma que cada linea anterior
+            //al error se crea o figura entre las rechazadas
+            saveChunk(chunk, chunkLines, result);
+            LOGGER.warn("CSV import aborted after {} records: {}", result.getRecords(), e.getMessage());
+            result.abort(e.getMessage());
+        }
+
+        LOGGER.debug("CSV import: {} records, {} created, {} rejected", result.getRecords(), result.getCreated(),
+                result.getRejected());
+
+        return result;
+    }
+
+    /**
+     * Lee el siguiente registro del CSV. Un registro que supera 'employees.import.max-record-length' caracteres
+     * se rechaza con su numero de linea y la lectura continua en la linea siguiente
+     *
+     * @return listado con los campos del siguiente registro, o null si no hay mas registros
+     */
+    private static List<String> nextRecord(CsvReader reader, ImportResultDto result) throws IOException {
+        while (true) {
+            try {
+                return reader.readRecord();
+            } catch (CsvReader.RecordTooLongException e) {
+                result.recordRead();
+                result.rejected(e.getLine(), Collections.singletonList(e.getReason()));
+            }
+        }
+    }
+
+    /**
+     * Guarda un bloque de empleados en una transaccion y, si falla, cada empleado en su propia transaccion.
+     * Al terminar vacia el bloque para reutilizarlo
+     */
+    private void saveChunk(List<Employee> chunk, List<Long> chunkLines, ImportResultDto result) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            iEmployeeService.saveEmployees(chunk);
+            result.created(chunk.size());
+        } catch (DataAccessException | PersistenceException e) {
+            //los errores del flush explicito de saveEmployees no se traducen a DataAccessException
+            LOGGER.debug("CSV import chunk failed, retrying line by line: {}", e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                Employee employee = chunk.get(i);
+                //persist ya habia asignado un id, que se ha descartado con el rollback
+                employee.setId(null);
+                employee.setVersion(null);
+                try {
+                    iEmployeeService.saveEmployee(employee);
+                    result.created(1);
+                } catch (DataAccessException | PersistenceException lineException) {
+                    result.rejected(chunkLines.get(i), Collections.singletonList(
+                            NestedExceptionUtils.getMostSpecificCause(lineException).getMessage()));
+                }
+            }
+        }
+
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private static int columnIndex(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            if (name.equals(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int column) {
+        return column < record.size() ? record.get(column).trim() : null;
+    }
+}
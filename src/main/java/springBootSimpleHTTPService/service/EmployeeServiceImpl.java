@@ -1,12 +1,33 @@
 package springBootSimpleHTTPService.service;
 
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import springBootSimpleHTTPService.dto.EmployeeChangeDto;
+import springBootSimpleHTTPService.dto.EmployeeDto;
 import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.repository.EmployeePatch;
+import springBootSimpleHTTPService.repository.EmployeeSearchCriteria;
 import springBootSimpleHTTPService.repository.IEmployeeRepository;
+import springBootSimpleHTTPService.repository.RoleHeadcount;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Clase de la capa Service, implementa la interface IEmployeeService
@@ -22,21 +43,108 @@ import java.util.Optional;
  * Marca un constructor, campo, metodo setter o metodo de configuracion para ser detectado
  * automaticamente por la funcionalidad de inyeccion de dependencias de Spring
  *
+ * @PersistenceContext
+ * Inyecta el EntityManager compartido asociado a la transaccion en curso
+ *
+ * @Value
+ * Inyecta el valor de una propiedad del archivo application.properties
+ *
+ * Las modificaciones (creacion, actualizacion y eliminacion de empleados) se registran, una vez
+ * confirmadas, en el log de auditoria 'springBootSimpleHTTPService.audit', que en logback-spring.xml
+ * nunca descarta mensajes, a diferencia del log general, y se publican en el flujo de cambios de empleados
+ * (EmployeeChangeFeed), tambien una vez confirmadas
+ *
  */
 @Service
 public class EmployeeServiceImpl implements IEmployeeService{
 
+    private static final Logger AUDIT = LoggerFactory.getLogger("springBootSimpleHTTPService.audit");
+
     @Autowired
     IEmployeeRepository iEmployeeRepository;
 
+    @Autowired
+    RoleStatsAggregator roleStatsAggregator;
+
+    @Autowired
+    EmployeeChangeFeed employeeChangeFeed;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${employees.batch.jdbc-batch-size:50}")
+    private int jdbcBatchSize;
+
     @Override
-    public List<Employee> listEmployees() {
-        return iEmployeeRepository.findAll();
+    public List<EmployeeDto> listEmployees(Long afterId, int limit) {
+        return iEmployeeRepository.findEmployeesAfterId(afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Recorre todos los empleados mediante un cursor de base de datos, dentro de una unica transaccion
+     * de solo lectura. La consulta es una proyeccion sobre EmployeeDto, por lo que no se crean entidades
+     * en el contexto de persistencia y la memoria utilizada no crece con el numero de filas de la tabla
+     *
+     * @param action, funcion que se aplica a cada empleado, en orden de id
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachEmployee(Consumer<EmployeeDto> action) {
+        try (Stream<EmployeeDto> employees = iEmployeeRepository.streamAllEmployees()) {
+            employees.forEach(action);
+        }
     }
 
     @Override
     public Employee saveEmployee(Employee employee) {
-        return iEmployeeRepository.save(employee);
+        String action = employee.getVersion() == null ? "CREATE" : "UPDATE";
+        Employee savedEmployee = iEmployeeRepository.save(employee);
+        AUDIT.info("{} employee id={} version={} roleId={}", action, savedEmployee.getId(),
+                savedEmployee.getVersion(), savedEmployee.getRole().getId());
+        employeeChangeFeed.publish(EmployeeChangeDto.employee(
+                action.equals("CREATE") ? EmployeeChangeDto.CREATED : EmployeeChangeDto.UPDATED,
+                savedEmployee.getId(), savedEmployee.getRole().getId()));
+        return savedEmployee;
+    }
+
+    /**
+     * Guarda varios empleados nuevos en una unica transaccion. Las sentencias INSERT se envian a la base
+     * de datos en lotes JDBC de 'employees.batch.jdbc-batch-size' elementos y, tras cada lote, se vacia
+     * el contexto de persistencia para que la memoria utilizada no crezca con el tamaño de la peticion
+     *
+     * @param employees, listado de objetos de tipo Employee, validados y con su Role asignado
+     * @return el mismo listado, con el id asignado a cada empleado
+     */
+    @Override
+    @Transactional
+    public List<Employee> saveEmployees(List<Employee> employees) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+
+        int pending = 0;
+        for (Employee employee : employees) {
+            entityManager.persist(employee);
+            if (++pending == jdbcBatchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        if (!employees.isEmpty()) {
+            Long firstId = employees.get(0).getId();
+            Long lastId = employees.get(employees.size() - 1).getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    AUDIT.info("CREATE_BATCH employees={} firstId={} lastId={}", employees.size(), firstId, lastId);
+                }
+            });
+            employeeChangeFeed.publish(EmployeeChangeDto.bulk(EmployeeChangeDto.CREATED, null, employees.size()));
+        }
+
+        return employees;
     }
 
     @Override
@@ -44,19 +152,169 @@ public class EmployeeServiceImpl implements IEmployeeService{
         return iEmployeeRepository.findById(id);
     }
 
+    /**
+     * Obtiene el empleado por clave primaria y carga su role dentro de la misma transaccion, de forma que
+     * ambas busquedas se resuelven en la cache de segundo nivel sin acceder a la base de datos
+     *
+     * @param id, tipo Long, id del empleado
+     * @return Optional con el empleado, con su role inicializado
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Employee> findEmployeeWithRoleById(Long id) {
+        Optional<Employee> employee = iEmployeeRepository.findById(id);
+        employee.ifPresent(e -> Hibernate.initialize(e.getRole()));
+        return employee;
+    }
+
     @Override
     public Employee updateEmployee(Employee employee) {
-        return iEmployeeRepository.save(employee);
+        Employee savedEmployee = iEmployeeRepository.save(employee);
+        AUDIT.info("UPDATE employee id={} version={} roleId={}", savedEmployee.getId(),
+                savedEmployee.getVersion(), savedEmployee.getRole().getId());
+        employeeChangeFeed.publish(EmployeeChangeDto.employee(EmployeeChangeDto.UPDATED,
+                savedEmployee.getId(), savedEmployee.getRole().getId()));
+        return savedEmployee;
+    }
+
+    /**
+     * Modifica solo los atributos indicados del empleado con una sentencia UPDATE, sin cargar la entidad.
+     * Si se cambia de role, antes se obtiene el role actual del empleado bloqueando su fila (SELECT ... FOR UPDATE),
+     * de forma que otra modificacion concurrente del mismo empleado espera a que se confirme la transaccion y
+     * los recuentos por role se actualizan con el role que realmente tenia el empleado
+     *
+     * @param id, tipo Long, id del empleado
+     * @param patch, objeto de tipo EmployeePatch, atributos modificados y versiones admitidas
+     * @return tipo int, 1 si se ha modificado el empleado, o 0 si no existe o su version no es una de las admitidas
+     */
+    @Override
+    @Transactional
+    public int patchEmployee(Long id, EmployeePatch patch) {
+        Long previousRoleId = patch.getRole() != null
+                ? iEmployeeRepository.findRoleIdForUpdate(id).orElse(null)
+                : null;
+
+        int updated = iEmployeeRepository.patchEmployee(id, patch);
+
+        if (updated > 0) {
+            if (previousRoleId != null && !previousRoleId.equals(patch.getRole().getId())) {
+                roleStatsAggregator.recordDelta(previousRoleId, -1);
+                roleStatsAggregator.recordDelta(patch.getRole().getId(), 1);
+            }
+            auditAfterCommit("PATCH employee id={} fields={}", id, patch.getFieldNames());
+            employeeChangeFeed.publish(EmployeeChangeDto.employee(EmployeeChangeDto.UPDATED, id,
+                    patch.getRole() != null ? patch.getRole().getId() : null));
+        }
+        return updated;
     }
 
     @Override
     public void deleteEmployee(Long id) {
         iEmployeeRepository.deleteById(id);
+        AUDIT.info("DELETE employee id={}", id);
+        employeeChangeFeed.publish(EmployeeChangeDto.employee(EmployeeChangeDto.DELETED, id, null));
+    }
+
+    @Override
+    public List<EmployeeDto> findEmployeesByRoleId(Long roleId, Long afterId, int limit) {
+        return iEmployeeRepository.findEmployeesByRoleIdAfterId(roleId, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<EmployeeDto> searchEmployees(EmployeeSearchCriteria criteria) {
+        return iEmployeeRepository.searchEmployees(criteria);
+    }
+
+    /**
+     * Cambia de role a todos los empleados de un role con una unica sentencia UPDATE. Los recuentos
+     * por role se actualizan con el numero de filas modificadas al confirmar la transaccion
+     *
+     * @param fromRole, objeto de tipo Role, role actual de los empleados
+     * @param toRole, objeto de tipo Role, nuevo role de los empleados
+     * @return tipo int, numero de empleados modificados
+     */
+    @Override
+    @Transactional
+    public int reassignRole(Role fromRole, Role toRole) {
+        if (fromRole.getId().equals(toRole.getId())) {
+            return 0;
+        }
+        int updated = iEmployeeRepository.reassignRole(fromRole, toRole);
+        roleStatsAggregator.recordDelta(fromRole.getId(), -updated);
+        roleStatsAggregator.recordDelta(toRole.getId(), updated);
+        auditAfterCommit("REASSIGN_ROLE fromRoleId={} toRoleId={} employees={}", fromRole.getId(), toRole.getId(), updated);
+        publishBulk(EmployeeChangeDto.UPDATED, toRole.getId(), updated);
+        return updated;
+    }
+
+    /**
+     * Cambia de role a varios empleados por id con una unica sentencia UPDATE. Los empleados que ya tienen
+     * ese role no se modifican. Antes de modificarlos se cuentan por role actual (GROUP BY sobre la clave
+     * primaria), para actualizar los recuentos por role al confirmar la transaccion
+     *
+     * @param ids, coleccion de tipos Long, ids de los empleados; los ids que no existen se ignoran
+     * @param toRole, objeto de tipo Role, nuevo role de los empleados
+     * @return tipo int, numero de empleados modificados
+     */
+    @Override
+    @Transactional
+    public int reassignEmployees(Collection<Long> ids, Role toRole) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        for (RoleHeadcount previous : iEmployeeRepository.countEmployeesByRoleForIds(ids, toRole)) {
+            roleStatsAggregator.recordDelta(previous.getRoleId(), -previous.getHeadcount());
+        }
+        int updated = iEmployeeRepository.reassignEmployees(ids, toRole);
+        roleStatsAggregator.recordDelta(toRole.getId(), updated);
+        auditAfterCommit("REASSIGN_EMPLOYEES toRoleId={} requested={} employees={}", toRole.getId(), ids.size(), updated);
+        publishBulk(EmployeeChangeDto.UPDATED, toRole.getId(), updated);
+        return updated;
     }
 
+    /**
+     * Elimina todos los empleados de un role con una unica sentencia DELETE
+     *
+     * @param role, objeto de tipo Role
+     * @return tipo int, numero de empleados eliminados
+     */
     @Override
-    public List<Employee> findEmployeesByRoleId(Long roleId) {
-        return iEmployeeRepository.findEmployeesByRoleId(roleId);
+    @Transactional
+    public int deleteEmployeesByRole(Role role) {
+        int deleted = iEmployeeRepository.deleteEmployeesByRole(role);
+        roleStatsAggregator.recordDelta(role.getId(), -deleted);
+        auditAfterCommit("DELETE_BY_ROLE roleId={} employees={}", role.getId(), deleted);
+        publishBulk(EmployeeChangeDto.DELETED, role.getId(), deleted);
+        return deleted;
+    }
+
+    /**
+     * Escribe una linea en el log de auditoria cuando se confirma la transaccion en curso (o inmediatamente,
+     * si no hay transaccion), de forma que una transaccion cancelada no deja registro de un cambio que no
+     * se ha producido
+     *
+     * @param format, tipo String, mensaje con marcadores {} de SLF4J
+     * @param arguments, valores de los marcadores
+     */
+    private static void auditAfterCommit(String format, Object... arguments) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            AUDIT.info(format, arguments);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                AUDIT.info(format, arguments);
+            }
+        });
+    }
+
+    private void publishBulk(String type, Long roleId, int affected) {
+        if (affected > 0) {
+            employeeChangeFeed.publish(EmployeeChangeDto.bulk(type, roleId, affected));
+        }
     }
 
 }
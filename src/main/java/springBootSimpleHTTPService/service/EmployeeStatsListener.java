@@ -0,0 +1,76 @@
+package springBootSimpleHTTPService.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import springBootSimpleHTTPService.entity.Employee;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.Objects;
+
+/**
+ * Clase de la capa Service
+ *
+ * Receptor de los eventos del ciclo de vida de la entidad Employee (declarado con @EntityListeners en
+ * Employee), que notifica a RoleStatsAggregator las altas, bajas y cambios de role de los empleados.
+ *
+ * Para detectar los cambios de role, al cargar un empleado se guarda el id de su role en el atributo
+ * no persistente 'loadedRoleId', que se compara con el role actual al actualizarlo.
+ *
+ * Hibernate obtiene el receptor del contenedor de Spring, por lo que admite inyeccion de dependencias.
+ * El agregador se obtiene mediante ObjectProvider, en el momento de usarlo, porque depende de
+ * IEmployeeRepository, que a su vez depende del EntityManagerFactory que crea este receptor
+ *
+ * Anotaciones:
+ * @Component
+ * Indica que una clase es un "componente".
+ *
+ * @PostLoad, @PostPersist, @PostUpdate, @PostRemove
+ * Marcan los metodos invocados por JPA despues de cargar, insertar, actualizar y eliminar una entidad
+ */
+@Component
+public class EmployeeStatsListener {
+
+    private final ObjectProvider<RoleStatsAggregator> roleStatsAggregator;
+
+    @Autowired
+    public EmployeeStatsListener(ObjectProvider<RoleStatsAggregator> roleStatsAggregator) {
+        this.roleStatsAggregator = roleStatsAggregator;
+    }
+
+    @PostLoad
+    public void postLoad(Employee employee) {
+        employee.setLoadedRoleId(roleIdOf(employee));
+    }
+
+    @PostPersist
+    public void postPersist(Employee employee) {
+        Long roleId = roleIdOf(employee);
+        roleStatsAggregator.getObject().recordDelta(roleId, 1);
+        employee.setLoadedRoleId(roleId);
+    }
+
+    @PostUpdate
+    public void postUpdate(Employee employee) {
+        Long previousRoleId = employee.getLoadedRoleId();
+        Long roleId = roleIdOf(employee);
+        if (!Objects.equals(previousRoleId, roleId)) {
+            roleStatsAggregator.getObject().recordDelta(previousRoleId, -1);
+            roleStatsAggregator.getObject().recordDelta(roleId, 1);
+        }
+        employee.setLoadedRoleId(roleId);
+    }
+
+    @PostRemove
+    public void postRemove(Employee employee) {
+        Long roleId = employee.getLoadedRoleId() != null ? employee.getLoadedRoleId() : roleIdOf(employee);
+        roleStatsAggregator.getObject().recordDelta(roleId, -1);
+    }
+
+    private static Long roleIdOf(Employee employee) {
+        return employee.getRole() == null ? null : employee.getRole().getId();
+    }
+}
@@ -0,0 +1,14 @@
+package springBootSimpleHTTPService.service;
+
+import springBootSimpleHTTPService.dto.ImportResultDto;
+
+import java.io.Reader;
+
+/**
+ * Interface de la capa Service
+ *
+ */
+public interface IEmployeeImportService {
+
+    ImportResultDto importEmployees(Reader csv); //Importa empleados desde un CSV, en bloques confirmados por separado
+}
@@ -1,9 +1,15 @@
 package springBootSimpleHTTPService.service;
 
+import springBootSimpleHTTPService.dto.EmployeeDto;
 import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.repository.EmployeePatch;
+import springBootSimpleHTTPService.repository.EmployeeSearchCriteria;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface de la capa Service
@@ -12,15 +18,32 @@ import java.util.Optional;
 public interface IEmployeeService {
 
     //Metodos del CRUD
-    List<Employee> listEmployees(); //Listar All
+    List<EmployeeDto> listEmployees(Long afterId, int limit); //Listar paginado por cursor, empleados con id > afterId
+
+    void forEachEmployee(Consumer<EmployeeDto> action); //Recorre todos los empleados en streaming, EXPORT
 
     Employee saveEmployee(Employee employee); //Guarda un employee CREATE
 
+    List<Employee> saveEmployees(List<Employee> employees); //Guarda varios employees en lotes JDBC, CREATE
+
     Optional<Employee> findEmployeeById(Long id); //Lee datos de un employee READ
 
+    Optional<Employee> findEmployeeWithRoleById(Long id); //Lee datos de un employee junto con su role, READ
+
     Employee updateEmployee(Employee employee); //Actualiza datos del employee UPDATE
 
+    int patchEmployee(Long id, EmployeePatch patch); //Actualiza solo los datos indicados del employee, UPDATE
+
     void deleteEmployee(Long id);// Elimina el employee DELETE
 
-    List<Employee> findEmployeesByRoleId(Long roleId); //Busca empleados por faena
+    List<EmployeeDto> findEmployeesByRoleId(Long roleId, Long afterId, int limit); //Busca empleados por faena, paginado por cursor
+
+    List<EmployeeDto> searchEmployees(EmployeeSearchCriteria criteria); //Busca empleados por nombre, faena y salario, paginado
+
+    //Operaciones masivas, una unica sentencia SQL, devuelven el numero de empleados afectados
+    int reassignRole(Role fromRole, Role toRole); //Cambia de faena a todos los empleados de una faena
+
+    int reassignEmployees(Collection<Long> ids, Role toRole); //Cambia de faena a varios empleados por id
+
+    int deleteEmployeesByRole(Role role); //Elimina todos los empleados de una faena
 }
@@ -1,8 +1,12 @@
 package springBootSimpleHTTPService.service;
 
+import springBootSimpleHTTPService.entity.JobEnum;
 import springBootSimpleHTTPService.entity.Role;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,4 +20,16 @@ public interface IRoleService {
     Optional<Role> findRoleById(Long id); //Lee datos de un role READ
 
     Optional<Role> findRoleByJobTitle(String jobTitle); //Busca un role por el nombre de empleo
+
+    Optional<Role> findRoleByJobEnum(JobEnum jobEnum); //Busca un role por su empleo
+
+    Map<Long, Role> findRolesByIds(Collection<Long> ids); //Busca varios roles por id, omite los que no existen
+
+    void refreshRoles(); //Recarga el registro de roles en memoria desde la base de datos
+
+    long getRolesVersion(); //Version del contenido del registro de roles, cambia si cambia algun role
+
+    long getHeadcount(Long roleId); //Numero de empleados de un role, mantenido en memoria
+
+    int adjustSalary(Role role, BigDecimal percent); //Modifica el salario de un role en un porcentaje, UPDATE
 }
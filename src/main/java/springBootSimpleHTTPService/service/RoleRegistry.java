@@ -0,0 +1,140 @@
+package springBootSimpleHTTPService.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import springBootSimpleHTTPService.entity.JobEnum;
+import springBootSimpleHTTPService.entity.Role;
+import springBootSimpleHTTPService.repository.IRoleRepository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Clase de la capa Service.
+ *
+ * Registro en memoria de los roles/empleos del sistema. Los roles son datos de referencia: reflejan
+ * los valores del tipo Enum JobEnum y no cambian en tiempo de ejecucion, por lo que se cargan una
+ * unica vez desde la base de datos y se sirven desde memoria, indexados por id y por JobEnum.
+ *
+ * El contenido del registro es inmutable: cada recarga construye una nueva instancia (snapshot)
+ * que sustituye a la anterior de forma atomica, de tal forma que las lecturas no necesitan
+ * sincronizacion y siempre ven un estado completo y coherente.
+ *
+ * Cada snapshot tiene una version calculada a partir de su contenido (id, empleo y salario de cada role),
+ * que se utiliza para generar las ETag de roles y empleados: solo cambia si cambia algun role.
+ *
+ * Anotaciones:
+ * @Component
+ * Indica que una clase es un "componente".
+ * Estas clases se consideran candidatas para la deteccion automatica cuando se utiliza una configuración
+ * basada en anotaciones y un escaneo de classpath.
+ *
+ * @EventListener
+ * Marca un metodo como receptor de eventos de la aplicacion, en este caso ApplicationReadyEvent,
+ * publicado cuando la aplicacion ha arrancado y esta lista para atender peticiones
+ */
+@Component
+public class RoleRegistry {
+
+    private final IRoleRepository iRoleRepository;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public RoleRegistry(IRoleRepository iRoleRepository) {
+        this.iRoleRepository = iRoleRepository;
+    }
+
+    /**
+     * Carga el registro al arrancar la aplicacion, para que la primera peticion no pague el coste de la carga
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Recarga los roles desde la base de datos y sustituye el contenido del registro
+     */
+    public synchronized void refresh() {
+        snapshot = new Snapshot(iRoleRepository.findAll(Sort.by("id")));
+    }
+
+    /**
+     * @return listado inmutable de todos los roles del sistema, ordenado por id
+     */
+    public List<Role> getRoles() {
+        return current().roles;
+    }
+
+    /**
+     * @return tipo long, version del contenido actual del registro
+     */
+    public long getVersion() {
+        return current().version;
+    }
+
+    /**
+     * @param id, tipo Long, id del role
+     * @return objeto Optional que contiene el role con ese id, o vacio si no existe
+     */
+    public Optional<Role> findById(Long id) {
+        return Optional.ofNullable(current().byId.get(id));
+    }
+
+    /**
+     * @param jobEnum, tipo JobEnum, empleo del role
+     * @return objeto Optional que contiene el role de ese empleo, o vacio si no existe
+     */
+    public Optional<Role> findByJobEnum(JobEnum jobEnum) {
+        return jobEnum == null ? Optional.empty() : Optional.ofNullable(current().byJobEnum.get(jobEnum));
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Contenido inmutable del registro en un instante determinado
+     */
+    private static final class Snapshot {
+
+        private final List<Role> roles;
+        private final Map<Long, Role> byId;
+        private final Map<JobEnum, Role> byJobEnum;
+        private final long version;
+
+        private Snapshot(List<Role> roles) {
+            Map<Long, Role> byId = new HashMap<>();
+            Map<JobEnum, Role> byJobEnum = new EnumMap<>(JobEnum.class);
+            long version = 17;
+            for (Role role : roles) {
+                byId.put(role.getId(), role);
+                byJobEnum.put(role.getJobEnum(), role);
+                version = 31 * version + Objects.hash(role.getId(), role.getJobEnum().name(), role.getAnnualSalary());
+            }
+            this.version = version;
+            this.roles = List.copyOf(roles);
+            this.byId = Collections.unmodifiableMap(byId);
+            this.byJobEnum = Collections.unmodifiableMap(byJobEnum);
+        }
+    }
+
+}
@@ -1,14 +1,22 @@
 package springBootSimpleHTTPService.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import springBootSimpleHTTPService.controller.exception.RoleNotFoundException;
 import springBootSimpleHTTPService.entity.JobEnum;
 import springBootSimpleHTTPService.entity.Role;
 import springBootSimpleHTTPService.repository.IRoleRepository;
 
-import java.util.Arrays;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,30 +33,95 @@ import java.util.Optional;
  * Marca un constructor, campo, metodo setter o metodo de configuracion para ser detectado
  * automaticamente por la funcionalidad de inyeccion de dependencias de Spring
  *
+ * Los roles se sirven desde el registro en memoria RoleRegistry, cargado al arrancar la aplicacion,
+ * por lo que las busquedas de roles no acceden a la base de datos
+ *
  */
 @Service
 public class RoleServiceImpl implements IRoleService {
 
+    private static final Logger AUDIT = LoggerFactory.getLogger("springBootSimpleHTTPService.audit");
+
+    @Autowired
+    RoleRegistry roleRegistry;
+
     @Autowired
     IRoleRepository iRoleRepository;
 
+    @Autowired
+    RoleStatsAggregator roleStatsAggregator;
+
     @Override
     public List<Role> listRoles() {
-        return iRoleRepository.findAll();
+        return roleRegistry.getRoles();
     }
 
     @Override
     public Optional<Role> findRoleById(Long id) {
-        return Optional.ofNullable(iRoleRepository.findById(id)
+        return Optional.ofNullable(roleRegistry.findById(id)
                 .orElseThrow(() -> new RoleNotFoundException(id)));
     }
 
     @Override
     public Optional<Role> findRoleByJobTitle(String jobTitle) {
-        return iRoleRepository.findRoleByJobEnum(Arrays.stream(JobEnum.values())
-                .filter(e -> e.getJobTitle().equalsIgnoreCase(jobTitle))
-                .findFirst()
-                .orElseThrow(() -> new RoleNotFoundException(jobTitle)));
+        JobEnum jobEnum = JobEnum.fromJobTitleIgnoreCase(jobTitle);
+        if (jobEnum == null) {
+            throw new RoleNotFoundException(jobTitle);
+        }
+        return roleRegistry.findByJobEnum(jobEnum);
+    }
+
+    @Override
+    public Optional<Role> findRoleByJobEnum(JobEnum jobEnum) {
+        return roleRegistry.findByJobEnum(jobEnum);
+    }
+
+    @Override
+    public Map<Long, Role> findRolesByIds(Collection<Long> ids) {
+        Map<Long, Role> roles = new HashMap<>();
+        for (Long id : ids) {
+            roleRegistry.findById(id).ifPresent(role -> roles.put(id, role));
+        }
+        return roles;
+    }
+
+    @Override
+    public void refreshRoles() {
+        roleRegistry.refresh();
+    }
+
+    @Override
+    public long getRolesVersion() {
+        return roleRegistry.getVersion();
+    }
+
+    @Override
+    public long getHeadcount(Long roleId) {
+        return roleStatsAggregator.getHeadcount(roleId);
+    }
+
+    /**
+     * Modifica el salario de un role en un porcentaje con una unica sentencia UPDATE. Al confirmar la
+     * transaccion se recarga el registro de roles, de forma que los roles, sus ETags y las estadisticas
+     * por role reflejan el nuevo salario
+     *
+     * @param role, objeto de tipo Role
+     * @param percent, tipo BigDecimal, porcentaje de variacion del salario, por ejemplo 2.5 o -10
+     * @return tipo int, numero de roles modificados (0 o 1)
+     */
+    @Override
+    @Transactional
+    public int adjustSalary(Role role, BigDecimal percent) {
+        BigDecimal factor = BigDecimal.ONE.add(percent.movePointLeft(2));
+        int updated = iRoleRepository.multiplySalary(role.getId(), factor);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                AUDIT.info("ADJUST_SALARY roleId={} percent={} roles={}", role.getId(), percent, updated);
+                roleRegistry.refresh();
+            }
+        });
+        return updated;
     }
 
 }
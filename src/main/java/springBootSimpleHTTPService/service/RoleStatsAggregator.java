@@ -0,0 +1,162 @@
+package springBootSimpleHTTPService.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import springBootSimpleHTTPService.repository.IEmployeeRepository;
+import springBootSimpleHTTPService.repository.RoleHeadcount;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clase de la capa Service
+ *
+ * Mantiene en memoria el numero de empleados de cada role, de forma que las estadisticas por role
+ * (GET /roles/stats) no acceden a la base de datos:
+ *
+ * - se inicializa al arrancar la aplicacion con una unica consulta GROUP BY
+ * - se actualiza de forma incremental con las altas, bajas y cambios de role de los empleados,
+ *   notificados por EmployeeStatsListener. Los cambios de cada transaccion se acumulan y solo se aplican
+ *   cuando la transaccion se confirma, por lo que una transaccion cancelada no modifica los recuentos
+ * - se reconcilia periodicamente con la base de datos (cada 'roles.stats.reconcile-interval-ms'), lo que
+ *   corrige las diferencias debidas a modificaciones que no pasan por las entidades JPA, como las
+ *   sentencias UPDATE o DELETE masivas, o a transacciones confirmadas mientras se ejecuta la reconciliacion
+ *
+ * Anotaciones:
+ * @Component
+ * Indica que una clase es un "componente".
+ * Estas clases se consideran candidatas para la detección automática cuando se utiliza una configuración
+ * basada en anotaciones y un escaneo de classpath.
+ *
+ * @EventListener
+ * Marca un metodo como receptor de eventos de la aplicacion, en este caso ApplicationReadyEvent
+ *
+ * @Scheduled
+ * Marca un metodo como tarea programada, ejecutada periodicamente (requiere @EnableScheduling,
+ * declarada en SpringConfiguration)
+ */
+@Component
+public class RoleStatsAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoleStatsAggregator.class);
+
+    private final IEmployeeRepository iEmployeeRepository;
+
+    private final Map<Long, AtomicLong> headcounts = new ConcurrentHashMap<>();
+
+    private volatile boolean initialized;
+
+    @Autowired
+    public RoleStatsAggregator(IEmployeeRepository iEmployeeRepository) {
+        this.iEmployeeRepository = iEmployeeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${roles.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${roles.stats.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recalcula el numero de empleados de cada role con una consulta GROUP BY y sustituye los valores en memoria
+     */
+    public synchronized void reconcile() {
+
+        Map<Long, Long> counted = new HashMap<>();
+        for (RoleHeadcount row : iEmployeeRepository.countEmployeesByRole()) {
+            if (row.getRoleId() != null) {
+                counted.put(row.getRoleId(), row.getHeadcount());
+            }
+        }
+
+        Set<Long> roleIds = new HashSet<>(headcounts.keySet());
+        roleIds.addAll(counted.keySet());
+
+        long drift = 0;
+        for (Long roleId : roleIds) {
+            long expected = counted.getOrDefault(roleId, 0L);
+            long previous = headcounts.computeIfAbsent(roleId, id -> new AtomicLong()).getAndSet(expected);
+            drift += Math.abs(previous - expected);
+        }
+
+        if (initialized && drift > 0) {
+            LOGGER.info("Role headcounts reconciled, {} employees were out of date", drift);
+        }
+        initialized = true;
+    }
+
+    /**
+     * @param roleId, tipo Long, id del role
+     * @return tipo long, numero de empleados del role
+     */
+    public long getHeadcount(Long roleId) {
+        AtomicLong headcount = headcounts.get(roleId);
+        return headcount == null ? 0 : headcount.get();
+    }
+
+    /**
+     * Registra una variacion del numero de empleados de un role, que se aplica cuando se confirma la
+     * transaccion en curso (o inmediatamente, si no hay transaccion)
+     *
+     * @param roleId, tipo Long, id del role, se ignora si es null
+     * @param delta, tipo long, variacion del numero de empleados
+     */
+    void recordDelta(Long roleId, long delta) {
+
+        if (roleId == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(roleId, delta);
+            return;
+        }
+
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.deltas.merge(roleId, delta, Long::sum);
+    }
+
+    private void apply(Long roleId, long delta) {
+        headcounts.computeIfAbsent(roleId, id -> new AtomicLong()).addAndGet(delta);
+    }
+
+    /**
+     * Variaciones acumuladas en una transaccion, una unica entrada por role aunque la transaccion
+     * modifique miles de empleados (por ejemplo, POST /employees/batch)
+     */
+    private final class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<Long, Long> deltas = new HashMap<>();
+
+        @Override
+        public void afterCommit() {
+            deltas.forEach(RoleStatsAggregator.this::apply);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RoleStatsAggregator.this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package springBootSimpleHTTPService.util;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Clase de la capa de utilidades.
+ *
+ * Implementa la interface CallableProcessingInterceptor, registrada en WebMVCConfiguration para el
+ * procesamiento de las peticiones asincronas.
+ *
+ * Permite que una peticion concreta utilice un tiempo maximo distinto al global (spring.mvc.async.request-timeout).
+ * El controlador indica el tiempo maximo mediante el metodo 'setTimeout(webRequest, timeout)' y el interceptor
+ * lo aplica justo antes de iniciar el procesamiento asincrono. Es necesario para las respuestas de tipo
+ * StreamingResponseBody, cuyo procesamiento asincrono inicia Spring MVC con el tiempo maximo global, sin que el
+ * controlador pueda indicar otro, a diferencia de WebAsyncTask o SseEmitter
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private static final String ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    /**
+     * Indica el tiempo maximo del procesamiento asincrono de la peticion
+     *
+     * @param webRequest, objeto de tipo WebRequest, peticion en curso
+     * @param timeout, tipo long, tiempo maximo en milisegundos
+     */
+    public static void setTimeout(WebRequest webRequest, long timeout) {
+        webRequest.setAttribute(ATTRIBUTE, timeout, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+
+        Object timeout = request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Long && request instanceof AsyncWebRequest) {
+            ((AsyncWebRequest) request).setTimeout((Long) timeout);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package springBootSimpleHTTPService.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase de utilidad, lector incremental de CSV (RFC 4180): separador ',', campos opcionalmente entre
+ * comillas dobles, comillas escapadas como "" y saltos de linea (\n o \r\n), tambien dentro de un campo
+ * entre comillas. Las lineas vacias se ignoran.
+ *
+ * Lee un registro cada vez del Reader, sin cargar el fichero completo en memoria. La longitud de un registro
+ * esta limitada a 'maxRecordLength' caracteres (sin contar el salto de linea final), de forma que un fichero
+ * mal formado (por ejemplo, unas comillas sin cerrar) no puede agotar la memoria. Un registro demasiado largo
+ * se descarta hasta el siguiente salto de linea, por lo que se puede seguir leyendo el resto del fichero
+ */
+public class CsvReader implements Closeable {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+
+    private long line = 1;
+    private long recordLine;
+    private int pushback = NONE;
+
+    public CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * @return listado con los campos del siguiente registro, o null si no hay mas registros
+     * @throws RecordTooLongException si el registro supera la longitud maxima; el lector queda situado
+     *                                en la linea siguiente
+     * @throws CsvFormatException si el registro tiene comillas sin cerrar al final del fichero
+     * @throws IOException si no se puede leer el Reader
+     */
+    public List<String> readRecord() throws IOException {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        recordLine = line;
+
+        while (true) {
+            int c = read();
+
+            if (c == -1) {
+                if (quoted) {
+                    throw new CsvFormatException(recordLine, "Unterminated quoted field");
+                }
+                if (fields.isEmpty() && field.length() == 0) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+
+            boolean recordEnd = !quoted && (c == '\r' || c == '\n');
+            if (!recordEnd && ++length > maxRecordLength) {
+                skipLine(c);
+                throw new RecordTooLongException(recordLine, maxRecordLength);
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushback = next;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                line++;
+                //linea vacia, se ignora
+                if (fields.isEmpty() && field.length() == 0) {
+                    recordLine = line;
+                    length = 0;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * @return tipo long, numero de la linea (empezando por 1) en la que empieza el ultimo registro leido
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Descarta el resto de la linea, a partir del caracter 'c' ya leido, incluido su salto de linea
+     */
+    private void skipLine(int c) throws IOException {
+        while (c != -1 && c != '\r' && c != '\n') {
+            c = read();
+        }
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pushback = next;
+            }
+        }
+        if (c != -1) {
+            line++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != NONE) {
+            int c = pushback;
+            pushback = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    /**
+     * Excepcion de formato del CSV, indica la linea en la que empieza el registro erroneo
+     */
+    public static class CsvFormatException extends IOException {
+
+        private final long line;
+        private final String reason;
+
+        public CsvFormatException(long line, String reason) {
+            super("Line " + line + ": " + reason);
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * @return descripcion del error, sin el numero de linea
+         */
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    /**
+     * Excepcion de un registro que supera la longitud maxima. A diferencia del resto de errores de formato,
+     * no impide seguir leyendo: el registro se descarta hasta el siguiente salto de linea
+     */
+    public static class RecordTooLongException extends CsvFormatException {
+
+        public RecordTooLongException(long line, int maxRecordLength) {
+            super(line, "Record longer than " + maxRecordLength + " characters");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package springBootSimpleHTTPService.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import springBootSimpleHTTPService.entity.JobEnum;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Clase de utilidad, genera un conjunto de datos sintetico de empleados para reproducir localmente
+ * el rendimiento con tablas de tamaño real (de miles a decenas de millones de filas)
+ *
+ * Se activa con el perfil 'generate' (ver DatasetGeneratorApp) y se ejecuta al arrancar la aplicacion,
+ * antes de que se inicialicen el registro de roles y los recuentos por role (ApplicationReadyEvent):
+ *
+ * - vacia la tabla employee (generate.truncate, por defecto true)
+ * - inserta 'generate.employees' empleados con ids consecutivos, mediante lotes JDBC de 'generate.batch-size'
+ *   sentencias, sin pasar por Hibernate (sin entidades, sin contexto de persistencia ni cache)
+ * - reinicia la secuencia employee_seq por encima del mayor id, para que los empleados creados despues
+ *   por la aplicacion no repitan ids
+ *
+ * Los datos son deterministas para una misma semilla (generate.seed): los nombres y los roles se eligen con
+ * un SplittableRandom y no dependen del numero de hilos ni del tamaño de los lotes. Los roles siguen una
+ * distribucion ponderada (muchos desarrolladores y tecnicos, pocos directores) y los nombres una distribucion
+ * sesgada, en la que los primeros nombres de cada lista son mucho mas frecuentes que los ultimos, como en
+ * los datos reales, lo que influye en la selectividad de las busquedas por prefijo
+ *
+ * Anotaciones:
+ * @Component
+ * Indica que una clase es un "componente".
+ *
+ * @Profile
+ * Indica que la clase solo se registra en el contexto de Spring cuando el perfil indicado esta activo
+ */
+@Component
+@Profile(DatasetGenerator.PROFILE)
+public class DatasetGenerator implements ApplicationRunner {
+
+    public static final String PROFILE = "generate";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    //Valores reservados por el optimizador pooled de Hibernate (allocationSize de Employee) por debajo
+    //del valor de la secuencia
+    private static final long SEQUENCE_ALLOCATION_SIZE = 50;
+
+    //Peso relativo de cada empleo en la plantilla generada
+    private static final Map<JobEnum, Integer> ROLE_WEIGHTS = new EnumMap<>(JobEnum.class);
+
+    static {
+        ROLE_WEIGHTS.put(JobEnum.Software_Engineer, 28);
+        ROLE_WEIGHTS.put(JobEnum.Web_Developer, 14);
+        ROLE_WEIGHTS.put(JobEnum.Support_Specialist, 12);
+        ROLE_WEIGHTS.put(JobEnum.QA_Tester, 10);
+        ROLE_WEIGHTS.put(JobEnum.IT_Technician, 10);
+        ROLE_WEIGHTS.put(JobEnum.Data_Scientist, 6);
+        ROLE_WEIGHTS.put(JobEnum.Cloud_System_Engineer, 6);
+        ROLE_WEIGHTS.put(JobEnum.UX_Designer, 5);
+        ROLE_WEIGHTS.put(JobEnum.Web_Administrator, 4);
+        ROLE_WEIGHTS.put(JobEnum.Database_Administrator, 4);
+        ROLE_WEIGHTS.put(JobEnum.IT_Director, 1);
+    }
+
+    private static final String[] FIRST_NAMES = {
+            "Maria", "Jose", "Antonio", "Carmen", "Juan", "Ana", "Manuel", "Laura", "David", "Isabel",
+            "Francisco", "Lucia", "Javier", "Marta", "Daniel", "Elena", "Carlos", "Paula", "Miguel", "Sara",
+            "Rafael", "Cristina", "Pedro", "Raquel", "Pablo", "Nuria", "Alejandro", "Silvia", "Sergio", "Julia",
+            "Fernando", "Andrea", "Jorge", "Irene", "Luis", "Beatriz", "Alberto", "Patricia", "Alvaro", "Rosa",
+            "Adrian", "Alba", "Diego", "Sofia", "Raul", "Claudia", "Ivan", "Natalia", "Ruben", "Eva",
+            "James", "Mary", "John", "Emma", "Robert", "Olivia", "Michael", "Ava", "William", "Mia",
+            "Thomas", "Charlotte", "Joseph", "Amelia", "Richard", "Harper", "Oliver", "Grace", "Lucas", "Chloe",
+            "Roy", "Alan", "Gareth", "Evans", "Greg", "Giacomo", "Philippe", "Srinath", "Hadrian", "Justyna"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Garcia", "Rodriguez", "Gonzalez", "Fernandez", "Lopez", "Martinez", "Sanchez", "Perez", "Gomez",
+            "Martin", "Jimenez", "Ruiz", "Hernandez", "Diaz", "Moreno", "Munoz", "Alvarez", "Romero", "Alonso",
+            "Gutierrez", "Navarro", "Torres", "Dominguez", "Vazquez", "Ramos", "Gil", "Ramirez", "Serrano",
+            "Blanco", "Molina", "Morales", "Suarez", "Ortega", "Delgado", "Castro", "Ortiz", "Rubio", "Marin",
+            "Sanz", "Nunez", "Iglesias", "Medina", "Garrido", "Cortes", "Castillo", "Santos", "Lozano", "Guerrero",
+            "Cano", "Prieto", "Mendez", "Cruz", "Calvo", "Gallego", "Vidal", "Leon", "Marquez", "Herrera",
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Miller", "Davis", "Wilson", "Anderson", "Taylor",
+            "Moore", "Jackson", "White", "Harris", "Clark", "Lewis", "Walker", "Hall", "Young", "King",
+            "Fielding", "Gates", "Reakes", "Ye", "Hudson", "Pati", "Chiasson", "Perera", "Zbarcea", "Horwat"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${generate.employees:100000}")
+    private long employees;
+
+    @Value("${generate.seed:42}")
+    private long seed;
+
+    @Value("${generate.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${generate.truncate:true}")
+    private boolean truncate;
+
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        long start = System.nanoTime();
+        LOGGER.info("Generating {} employees (seed {}, batch size {})", employees, seed, batchSize);
+
+        JobEnum[] weightedRoles = weightedRoles();
+        Map<JobEnum, Long> roleIds = loadRoleIds();
+
+        if (truncate) {
+            jdbcTemplate.execute("TRUNCATE TABLE `employee`");
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(`id`), 0) FROM `employee`", Long.class);
+        long firstId = maxId + 1;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long logEvery = Math.max(employees / 10, batchSize);
+
+        for (long i = 0; i < employees; i++) {
+            JobEnum jobEnum = weightedRoles[random.nextInt(weightedRoles.length)];
+            batch.add(new Object[]{firstId + i, skewedPick(FIRST_NAMES, random), skewedPick(LAST_NAMES, random),
+                    roleIds.get(jobEnum)});
+
+            if (batch.size() == batchSize || i == employees - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO `employee` (`id`, `firstname`, `lastname`, `role_id`) VALUES (?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+            if ((i + 1) % logEvery == 0) {
+                LOGGER.info("Generated {} / {} employees", i + 1, employees);
+            }
+        }
+
+        long lastId = firstId + employees - 1;
+        jdbcTemplate.execute("ALTER SEQUENCE employee_seq RESTART WITH "
+                + (lastId + 2 * SEQUENCE_ALLOCATION_SIZE));
+
+        LOGGER.info("Generated {} employees (ids {} to {}) in {} s", employees, firstId, lastId,
+                (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    /**
+     * @return array en el que cada empleo aparece tantas veces como su peso, para elegir un empleo
+     * ponderado con un unico numero aleatorio
+     */
+    private static JobEnum[] weightedRoles() {
+        List<JobEnum> weighted = new ArrayList<>();
+        for (JobEnum jobEnum : JobEnum.values()) {
+            for (int i = 0; i < ROLE_WEIGHTS.getOrDefault(jobEnum, 1); i++) {
+                weighted.add(jobEnum);
+            }
+        }
+        return weighted.toArray(new JobEnum[0]);
+    }
+
+    /**
+     * @return mapa con el id del role de cada empleo, leido de la tabla role
+     */
+    private Map<JobEnum, Long> loadRoleIds() {
+        Map<JobEnum, Long> roleIds = new EnumMap<>(JobEnum.class);
+        jdbcTemplate.query("SELECT `id`, `jobtitle` FROM `role`", resultSet -> {
+            JobEnum jobEnum = JobEnum.fromJobTitle(resultSet.getString("jobtitle"));
+            if (jobEnum != null) {
+                roleIds.put(jobEnum, resultSet.getLong("id"));
+            }
+        });
+        if (roleIds.size() != JobEnum.values().length) {
+            throw new IllegalStateException("The role table does not contain every JobEnum: " + roleIds.keySet());
+        }
+        return roleIds;
+    }
+
+    /**
+     * Elige un elemento con una distribucion sesgada hacia el principio del array: el cuadrado de un numero
+     * uniforme en [0, 1) se concentra cerca de 0, por lo que los primeros elementos son los mas frecuentes
+     */
+    private static String skewedPick(String[] values, SplittableRandom random) {
+        double uniform = random.nextDouble();
+        return values[(int) (uniform * uniform * values.length)];
+    }
+}
@@ -2,12 +2,22 @@ package springBootSimpleHTTPService.util;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import springBootSimpleHTTPService.controller.EmployeeController;
 import springBootSimpleHTTPService.dto.EmployeeDto;
 import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.JobEnum;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -22,6 +32,12 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  * para que los DTO recopilen enlaces, un EntityModel simple que envuelve un objeto
  * de dominio y le agrega enlaces.
  *
+ * Los enlaces de cada empleado no se construyen con linkTo(methodOn(...)) en cada llamada, ya que cada
+ * invocacion crea un proxy de EmployeeController, introspecciona el metodo mediante reflexion y resuelve
+ * la URI de la peticion actual. En su lugar, se construyen una unica vez por URI base (esquema, host,
+ * puerto y contexto) unas plantillas de enlaces (LinkTemplates), que se guardan tambien como atributo
+ * de la peticion en curso, y en cada empleado solo se expanden con su id y su role
+ *
  * Anotaciones:
  *
  * @Component
@@ -35,11 +51,18 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class EmployeeModelAssembler implements RepresentationModelAssembler<Employee, EntityModel<EmployeeDto>> {
 
+    private static final String LINK_TEMPLATES_ATTRIBUTE = EmployeeModelAssembler.class.getName() + ".LINK_TEMPLATES";
+
+    //Numero maximo de URIs base distintas para las que se guardan plantillas (el host lo decide el cliente)
+    private static final int MAX_CACHED_BASE_URIS = 64;
+
     @Autowired
     private EmployeeModelMapperConvert employeeModelMapperConvert;
 
     private String jsonSchema = "{\"firstName\":\"value1\", \"lastName\":\"value2\", \"role\": {\"id\": [1-11]}}";
 
+    private final Map<String, LinkTemplates> linkTemplatesByBaseUri = new ConcurrentHashMap<>();
+
     /**
      * Metodo abstracto de la interfaz RepresentationModelAssembler
      * Convierte un objeto de tipo Employee en un EntityModel de tipos EmployeeDto.
@@ -50,22 +73,31 @@ public class EmployeeModelAssembler implements RepresentationModelAssembler<Empl
      * y le agrega enlaces
      */
     public EntityModel<EmployeeDto> toModel(Employee employee) {
+        return toModel(employeeModelMapperConvert.convertToDto(employee));
+    }
 
-        EmployeeDto employeeDto = employeeModelMapperConvert.convertToDto(employee);
+    /**
+     * Agrega los enlaces a un objeto de tipo EmployeeDto obtenido directamente de una consulta con
+     * proyeccion, sin pasar por la entidad Employee
+     *
+     * @param employeeDto, objeto de tipo EmployeeDto, con el id y el empleo de su role
+     * @return objeto de tipo EntityModel que envuelve a un objeto de tipo EmployeeDto
+     * y le agrega enlaces
+     */
+    public EntityModel<EmployeeDto> toModel(EmployeeDto employeeDto) {
+
+        LinkTemplates links = currentLinkTemplates();
+        Long id = employeeDto.getId();
 
         return EntityModel.of(employeeDto,
-                WebMvcLinkBuilder.linkTo(methodOn(EmployeeController.class).oneEmployee(employee.getId())).withSelfRel(),
-                linkTo(methodOn(EmployeeController.class).allEmployees()).withRel("all"),
-                linkTo(methodOn(EmployeeController.class).newEmployee(employee)).withRel(
-                "curl -X POST -d '"+ jsonSchema + "'" +
-                        " -H \"Content-Type: application/json\" "),
-                linkTo(methodOn(EmployeeController.class).updateEmployee(employee, employee.getId())).withRel(
-                        "curl -X PUT -d '"+ jsonSchema + "'" +
-                                " -H \"Content-Type: application/json\" "),
-                linkTo(methodOn(EmployeeController.class).deleteEmployee(employee.getId())).withRel("delete"),
-                linkTo(methodOn(EmployeeController.class).findEmployeesByRoleId(employee.getRole().getId())).withRel("getByRoleId [1-11]"),
-                linkTo(methodOn(EmployeeController.class).findEmployeesByRolePathVariable(employee.getRole().getJobEnum().getJobTitle())).withRel("getByRolePathVariable"),
-                linkTo(methodOn(EmployeeController.class).findEmployeesByRoleRequestParam(employee.getRole().getJobEnum().getJobTitle())).withRel("getByRoleRequestParam")
+                links.self.expand(id),
+                links.all,
+                links.create,
+                links.update.expand(id),
+                links.delete.expand(id),
+                links.roleIdLink(employeeDto.getRoleId()),
+                links.byRolePathVariable.get(employeeDto.getJobEnum()),
+                links.byRoleRequestParam.get(employeeDto.getJobEnum())
                 );
 
     }
@@ -74,4 +106,115 @@ public class EmployeeModelAssembler implements RepresentationModelAssembler<Empl
         return jsonSchema;
     }
 
+    /**
+     * Recupera las plantillas de enlaces de la peticion en curso. Se buscan primero en los atributos
+     * de la peticion y, si no estan, en la cache por URI base; solo si tampoco estan se construyen
+     *
+     * @return objeto de tipo LinkTemplates para la URI base de la peticion en curso
+     */
+    private LinkTemplates currentLinkTemplates() {
+
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        LinkTemplates links = (LinkTemplates) attributes.getAttribute(LINK_TEMPLATES_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+
+        if (links == null) {
+            String baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+            links = linkTemplatesByBaseUri.get(baseUri);
+            if (links == null) {
+                links = new LinkTemplates(jsonSchema);
+                if (linkTemplatesByBaseUri.size() < MAX_CACHED_BASE_URIS) {
+                    linkTemplatesByBaseUri.putIfAbsent(baseUri, links);
+                }
+            }
+            attributes.setAttribute(LINK_TEMPLATES_ATTRIBUTE, links, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return links;
+    }
+
+    /**
+     * Plantillas de los enlaces de un empleado para una URI base.
+     *
+     * Los enlaces que no dependen del empleado se construyen completos; los que dependen del id
+     * se construyen con un id de marcador (ID_PLACEHOLDER) y se dividen en prefijo y sufijo;
+     * los que dependen del empleo se construyen para cada valor de JobEnum
+     */
+    private static final class LinkTemplates {
+
+        private static final long ID_PLACEHOLDER = Long.MIN_VALUE;
+
+        private final IdLinkTemplate self;
+        private final Link all;
+        private final Link create;
+        private final IdLinkTemplate update;
+        private final IdLinkTemplate delete;
+        private final IdLinkTemplate byRoleId;
+        private final Map<Long, Link> byRoleIdCache = new ConcurrentHashMap<>();
+        private final Map<JobEnum, Link> byRolePathVariable;
+        private final Map<JobEnum, Link> byRoleRequestParam;
+
+        private LinkTemplates(String jsonSchema) {
+
+            this.self = new IdLinkTemplate(linkTo(methodOn(EmployeeController.class)
+                    .oneEmployee(ID_PLACEHOLDER, null)).withSelfRel());
+            this.all = linkTo(methodOn(EmployeeController.class).allEmployees(null, null)).withRel("all");
+            this.create = linkTo(methodOn(EmployeeController.class).newEmployee(null)).withRel(
+                    "curl -X POST -d '"+ jsonSchema + "'" +
+                            " -H \"Content-Type: application/json\" ");
+            this.update = new IdLinkTemplate(linkTo(methodOn(EmployeeController.class)
+                    .updateEmployee(null, ID_PLACEHOLDER, null)).withRel(
+                            "curl -X PUT -d '"+ jsonSchema + "'" +
+                                    " -H \"Content-Type: application/json\" "));
+            this.delete = new IdLinkTemplate(linkTo(methodOn(EmployeeController.class)
+                    .deleteEmployee(ID_PLACEHOLDER)).withRel("delete"));
+            this.byRoleId = new IdLinkTemplate(linkTo(methodOn(EmployeeController.class)
+                    .findEmployeesByRoleId(ID_PLACEHOLDER, null, null)).withRel("getByRoleId [1-11]"));
+
+            Map<JobEnum, Link> byRolePathVariable = new EnumMap<>(JobEnum.class);
+            Map<JobEnum, Link> byRoleRequestParam = new EnumMap<>(JobEnum.class);
+            for (JobEnum jobEnum : JobEnum.values()) {
+                byRolePathVariable.put(jobEnum, linkTo(methodOn(EmployeeController.class)
+                        .findEmployeesByRolePathVariable(jobEnum, null, null))
+                        .withRel("getByRolePathVariable"));
+                byRoleRequestParam.put(jobEnum, linkTo(methodOn(EmployeeController.class)
+                        .findEmployeesByRoleRequestParam(jobEnum, null, null))
+                        .withRel("getByRoleRequestParam"));
+            }
+            this.byRolePathVariable = Collections.unmodifiableMap(byRolePathVariable);
+            this.byRoleRequestParam = Collections.unmodifiableMap(byRoleRequestParam);
+        }
+
+        private Link roleIdLink(Long roleId) {
+            return byRoleIdCache.computeIfAbsent(roleId, byRoleId::expand);
+        }
+    }
+
+    /**
+     * Plantilla de un enlace cuyo href contiene el id de un recurso: se guarda el href dividido
+     * en el texto anterior y posterior al id, de forma que expandirla es una concatenacion de cadenas
+     */
+    private static final class IdLinkTemplate {
+
+        private final String prefix;
+        private final String suffix;
+        private final LinkRelation rel;
+
+        private IdLinkTemplate(Link prototype) {
+            String href = prototype.getHref();
+            String placeholder = String.valueOf(LinkTemplates.ID_PLACEHOLDER);
+            int index = href.indexOf(placeholder);
+            if (index < 0) {
+                throw new IllegalStateException("Id placeholder not found in link " + href);
+            }
+            this.prefix = href.substring(0, index);
+            this.suffix = href.substring(index + placeholder.length());
+            this.rel = prototype.getRel();
+        }
+
+        private Link expand(Long id) {
+            return Link.of(prefix + id + suffix, rel);
+        }
+    }
+
 }
@@ -1,29 +1,26 @@
 package springBootSimpleHTTPService.util;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import springBootSimpleHTTPService.dto.EmployeeDto;
 import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
 
 /**
  * Clase de la capa Controller
  *
- * Utiliza el objeto ModelMapper para realizar el mapeo de objetos de tipo Employee
- * a objetos de tipo EmployeeDto.
- * Marcada con la anotacion @Autowired, la clase ModelMapper es automaticamente detectada por Spring
+ * Realiza el mapeo de objetos de tipo Employee a objetos de tipo EmployeeDto.
+ *
+ * El mapeo se escribe de forma explicita, campo a campo, en lugar de utilizar un objeto ModelMapper,
+ * que resuelve los campos de origen y destino mediante reflexion en cada llamada. Los campos
+ * 'jobTitle' y 'annualSalary' se obtienen del Role asociado al empleado
  */
 @Component
 public class EmployeeModelMapperConvert {
 
-    @Autowired
-    private ModelMapper modelMapper;
-
     public EmployeeDto convertToDto(Employee employee) {
-        EmployeeDto employeeDto = modelMapper.map(employee, EmployeeDto.class);
-        employeeDto.setJobTitle(employee.getRole().getJobEnum().getJobTitle());
-        employeeDto.setAnnualSalary(employee.getRole().getAnnualSalary());
-        return employeeDto;
+        Role role = employee.getRole();
+        return new EmployeeDto(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                role.getId(), role.getJobEnum(), role.getAnnualSalary());
     }
 
 }
@@ -0,0 +1,101 @@
+package springBootSimpleHTTPService.util;
+
+import springBootSimpleHTTPService.entity.Employee;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Clase de la capa de utilidades.
+ *
+ * Genera las etiquetas de entidad (ETag) fuertes de los recursos expuestos por la API y comprueba
+ * las cabeceras condicionales If-Match recibidas en las peticiones de modificacion.
+ *
+ * La ETag de un empleado depende de su id, de la version de la entidad (columna 'version', que se
+ * incrementa en cada modificacion), del id de su role y de la version del registro de roles, ya que
+ * la representacion de un empleado incluye el nombre del empleo y el salario de su role
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param employee, objeto de tipo Employee
+     * @param rolesVersion, tipo long, version del contenido del registro de roles
+     * @return ETag fuerte del empleado, entre comillas dobles
+     */
+    public static String employee(Employee employee, long rolesVersion) {
+        return "\"" + employee.getId() + "-" + employee.getVersion() + "-" + employee.getRole().getId()
+                + "-" + Long.toHexString(rolesVersion) + "\"";
+    }
+
+    /**
+     * @param rolesVersion, tipo long, version del contenido del registro de roles
+     * @return ETag fuerte del listado de roles, entre comillas dobles
+     */
+    public static String roles(long rolesVersion) {
+        return "\"roles-" + Long.toHexString(rolesVersion) + "\"";
+    }
+
+    /**
+     * @param id, tipo Long, id del role
+     * @param rolesVersion, tipo long, version del contenido del registro de roles
+     * @return ETag fuerte de un role, entre comillas dobles
+     */
+    public static String role(Long id, long rolesVersion) {
+        return "\"role-" + id + "-" + Long.toHexString(rolesVersion) + "\"";
+    }
+
+    /**
+     * Comprueba si el valor de una cabecera If-Match se corresponde con la ETag actual de un recurso,
+     * mediante comparacion fuerte: las ETag debiles (W/"...") nunca coinciden
+     *
+     * @param ifMatch, tipo String, valor de la cabecera If-Match: "*" o un listado de ETags separadas por comas
+     * @param currentETag, tipo String, ETag actual del recurso
+     * @return true si alguna de las ETag de la cabecera coincide con la actual, o si la cabecera es "*"
+     */
+    public static boolean matches(String ifMatch, String currentETag) {
+        for (String candidate : ifMatch.split(",")) {
+            String eTag = candidate.trim();
+            if (eTag.equals("*") || eTag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene las versiones de la entidad de las ETags de un empleado de una cabecera If-Match, para que la
+     * comprobacion de la cabecera forme parte de la sentencia UPDATE. La version de la entidad se incrementa
+     * tambien cuando cambia el role del empleado, por lo que basta con comparar la version. Las ETags de otro
+     * empleado, las generadas con otra version del registro de roles y las ETags debiles nunca coinciden
+     *
+     * @param ifMatch, tipo String, valor de la cabecera If-Match: "*" o un listado de ETags separadas por comas
+     * @param id, tipo Long, id del empleado
+     * @param rolesVersion, tipo long, version actual del contenido del registro de roles
+     * @return conjunto de versiones admitidas, vacio si ninguna ETag puede coincidir, o null si la cabecera es "*"
+     */
+    public static Set<Long> employeeVersions(String ifMatch, Long id, long rolesVersion) {
+        Set<Long> versions = new HashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            String eTag = candidate.trim();
+            if (eTag.equals("*")) {
+                return null;
+            }
+            if (eTag.length() < 2 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+                continue;
+            }
+            String[] parts = eTag.substring(1, eTag.length() - 1).split("-");
+            if (parts.length == 4 && parts[0].equals(String.valueOf(id))
+                    && parts[3].equals(Long.toHexString(rolesVersion))) {
+                try {
+                    versions.add(Long.valueOf(parts[1]));
+                } catch (NumberFormatException e) {
+                    //no es una ETag generada por employee(...), no puede coincidir
+                }
+            }
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,20 @@
+package springBootSimpleHTTPService.util;
+
+import org.springframework.core.convert.converter.Converter;
+import springBootSimpleHTTPService.entity.JobEnum;
+
+/**
+ * Clase de la capa de utilidades.
+ *
+ * Convertidor de Spring que representa un valor de JobEnum mediante su nombre de empleo,
+ * por ejemplo al construir enlaces cuyas variables de ruta o parametros son de tipo JobEnum.
+ *
+ * Se registra en la configuracion de Spring MVC (WebMVCConfiguration)
+ */
+public class JobEnumToStringConverter implements Converter<JobEnum, String> {
+
+    @Override
+    public String convert(JobEnum jobEnum) {
+        return jobEnum.getJobTitle();
+    }
+}
@@ -4,7 +4,6 @@ import springBootSimpleHTTPService.entity.JobEnum;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
-import java.util.stream.Stream;
 
 /**
  * Clase de la capa de utilidades.
@@ -18,6 +17,9 @@ import java.util.stream.Stream;
  * Una clase de convertidor define el mapeo relacional/objeto de tal forma que el proveedor
  * de persistencia debe aplicar automaticamente el convertidor a todos los atributos mapeados
  * del tipo de destino especificado para todas las entidades de la unidad de persistencia
+ *
+ * La conversion del nombre del empleo a JobEnum utiliza el indice precalculado de JobEnum,
+ * ya que se ejecuta por cada fila de la tabla 'role' que se recupera de base de datos
  */
 @Converter(autoApply = true)
 public class JobTitleConverter implements AttributeConverter<JobEnum, String> {
@@ -35,9 +37,10 @@ public class JobTitleConverter implements AttributeConverter<JobEnum, String> {
             return null;
         }
 
-        return Stream.of(JobEnum.values())
-                .filter(j -> j.getJobTitle().equals(jobTitle))
-                .findFirst()
-                .orElseThrow(IllegalArgumentException::new);
+        JobEnum jobEnum = JobEnum.fromJobTitle(jobTitle);
+        if (jobEnum == null) {
+            throw new IllegalArgumentException("Unknown job title: " + jobTitle);
+        }
+        return jobEnum;
     }
 }
@@ -0,0 +1,29 @@
+package springBootSimpleHTTPService.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Anotacion de la capa de utilidades.
+ *
+ * Declara el numero maximo de sentencias SQL que puede ejecutar una peticion a un metodo de un controlador.
+ * El presupuesto es constante: no depende del numero de elementos de la respuesta, de forma que un problema
+ * N+1 (por ejemplo, cargar el role de cada empleado de un listado con una consulta por empleado) lo supera
+ * en cuanto la respuesta tiene mas de unos pocos elementos.
+ *
+ * No tiene efecto en tiempo de ejecucion: lo comprueba la prueba QueryBudgetTest, que cuenta las sentencias
+ * de cada peticion a EmployeeController y RoleController y compara los listados con una y con muchas filas
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+
+    /**
+     * @return numero maximo de sentencias SQL por peticion
+     */
+    int value();
+}
@@ -0,0 +1,29 @@
+package springBootSimpleHTTPService.util;
+
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase de la capa de utilidades.
+ *
+ * Implementa la interface RejectedExecutionHandler, aplicada cuando la cola de un pool de hilos
+ * esta llena. Rechaza la tarea lanzando una TaskRejectedException, como la politica por defecto
+ * (AbortPolicy), y ademas cuenta las tareas rechazadas, que ThreadPoolExecutor no registra
+ */
+public class RejectionCountingPolicy implements RejectedExecutionHandler {
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+        rejectedCount.increment();
+        throw new TaskRejectedException("Executor " + executor + " did not accept task: " + runnable);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
@@ -0,0 +1,45 @@
+package springBootSimpleHTTPService.util;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Clase de la capa de utilidades.
+ *
+ * Implementa la interface TaskDecorator, aplicada a las tareas enviadas a los pools de hilos
+ * definidos en ExecutorConfiguration.
+ *
+ * Propaga la peticion en curso al hilo del pool que ejecuta la tarea, ya que la construccion de enlaces
+ * (linkTo, ServletUriComponentsBuilder) y las plantillas de EmployeeModelAssembler la obtienen de
+ * RequestContextHolder, que es local a cada hilo.
+ *
+ * Se crea un nuevo ServletRequestAttributes sobre la misma peticion, en lugar de reutilizar el del hilo
+ * de Tomcat, porque este se marca como completado en cuanto el hilo de Tomcat termina de procesar la
+ * peticion asincrona, lo que ocurre normalmente antes de que el pool ejecute la tarea
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return runnable;
+        }
+
+        ServletRequestAttributes servletAttributes = (ServletRequestAttributes) attributes;
+        ServletRequestAttributes taskAttributes =
+                new ServletRequestAttributes(servletAttributes.getRequest(), servletAttributes.getResponse());
+
+        return () -> {
+            RequestContextHolder.setRequestAttributes(taskAttributes);
+            try {
+                runnable.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package springBootSimpleHTTPService.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clase de la capa de utilidades.
+ *
+ * Implementa la interface AsyncHandlerInterceptor, registrada en WebMVCConfiguration.
+ *
+ * Registra en el log una linea por peticion (metodo HTTP, URI, metodo del controlador, estado y duracion),
+ * muestreada por metodo del controlador: solo se registra una de cada 'logging.requests.sample-every'
+ * peticiones a cada endpoint, de forma que los endpoints con poco trafico siguen apareciendo en el log
+ * aunque otros reciban miles de peticiones por segundo.
+ * Las peticiones que fallan (estado 5xx o excepcion) o que superan 'logging.requests.slow-threshold-ms'
+ * se registran siempre.
+ *
+ * En las peticiones asincronas preHandle se invoca dos veces (en la peticion inicial y al reanudarla),
+ * por lo que el instante de inicio solo se guarda la primera vez; afterCompletion solo se invoca al
+ * terminar la peticion
+ *
+ * Anotaciones:
+ * @Component
+ * Indica que una clase es un "componente".
+ * Estas clases se consideran candidatas para la detección automática cuando se utiliza una configuración
+ * basada en anotaciones y un escaneo de classpath.
+ *
+ * @Value
+ * Inyecta el valor de una propiedad del archivo application.properties
+ */
+@Component
+public class RequestLoggingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
+
+    private static final String START_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".START";
+
+    @Value("${logging.requests.sample-every:100}")
+    private long sampleEvery;
+
+    @Value("${logging.requests.slow-threshold-ms:500}")
+    private long slowThresholdMillis;
+
+    private final Map<Method, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        int status = response.getStatus();
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+
+        if (ex != null || status >= 500 || durationMillis >= slowThresholdMillis) {
+            LOGGER.warn("{} {} -> {}.{} status={} durationMs={}", request.getMethod(), request.getRequestURI(),
+                    handlerMethod.getBeanType().getSimpleName(), handlerMethod.getMethod().getName(),
+                    status, durationMillis, ex);
+            return;
+        }
+
+        if (sampleEvery <= 0 || !LOGGER.isInfoEnabled()) {
+            return;
+        }
+
+        //cuenta por metodo del controlador, se registra la primera peticion y despues una de cada 'sampleEvery'
+        long count = requestCounts.computeIfAbsent(handlerMethod.getMethod(), method -> new AtomicLong())
+                .getAndIncrement();
+        if (count % sampleEvery == 0) {
+            LOGGER.info("{} {} -> {}.{} status={} durationMs={} sampled=1/{}", request.getMethod(),
+                    request.getRequestURI(), handlerMethod.getBeanType().getSimpleName(),
+                    handlerMethod.getMethod().getName(), status, durationMillis, sampleEvery);
+        }
+    }
+}
@@ -52,8 +52,8 @@ public class RoleModelAssembler implements RepresentationModelAssembler<Role, En
 
 
         return EntityModel.of(roleDto,
-                linkTo(methodOn(RoleController.class).oneRole(role.getId())).withSelfRel(),
-                linkTo(methodOn(RoleController.class).allRoles()).withRel("all"));
+                linkTo(methodOn(RoleController.class).oneRole(role.getId(), null)).withSelfRel(),
+                linkTo(methodOn(RoleController.class).allRoles(null)).withRel("all"));
 
     }
 
@@ -1,7 +1,5 @@
 package springBootSimpleHTTPService.util;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import springBootSimpleHTTPService.dto.RoleDto;
 import springBootSimpleHTTPService.entity.Role;
@@ -9,21 +7,16 @@ import springBootSimpleHTTPService.entity.Role;
 /**
  * Clase de la capa Controller
  *
- * Utiliza el objeto ModelMapper para realizar el mapeo de objetos de tipo Role
- * a objetos de tipo RoleDto.
- * Marcada con la anotacion @Autowired, la clase ModelMapper es automaticamente detectada por Spring
+ * Realiza el mapeo de objetos de tipo Role a objetos de tipo RoleDto.
+ *
+ * El mapeo se escribe de forma explicita, campo a campo, en lugar de utilizar un objeto ModelMapper,
+ * que resuelve los campos de origen y destino mediante reflexion en cada llamada
  */
 @Component
 public class RoleModelMapperConvert {
 
-    @Autowired
-    private ModelMapper modelMapper;
-
     public RoleDto convertToDto(Role role) {
-        RoleDto roleDto = modelMapper.map(role, RoleDto.class);
-        roleDto.setJobTitle(role.getJobEnum().getJobTitle());
-        roleDto.setAnnualSalary(role.getAnnualSalary());
-        return roleDto;
+        return new RoleDto(role.getId(), role.getJobEnum().getJobTitle(), role.getAnnualSalary());
     }
 
 }
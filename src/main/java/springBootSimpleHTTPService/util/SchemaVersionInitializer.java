@@ -0,0 +1,84 @@
+package springBootSimpleHTTPService.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.DigestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Clase de utilidad, inicializa la base de datos solo cuando cambian los scripts de inicializacion
+ *
+ * Calcula una suma de comprobacion (MD5) del contenido de los scripts (schema.sql e import.sql) y la compara
+ * con la guardada en la tabla 'schema_version'. Si coinciden, la base de datos ya esta inicializada con esos
+ * scripts y no se ejecutan, por lo que el arranque no depende del numero de filas de las tablas. Si no
+ * coinciden (primer arranque o cambio de los scripts), se ejecutan los scripts y se guarda la nueva suma.
+ *
+ * schema.sql elimina y vuelve a crear las tablas, por lo que un cambio de los scripts elimina los datos
+ * existentes, igual que en cada arranque con la base de datos en memoria. La tabla 'schema_version'
+ * no se elimina
+ */
+public class SchemaVersionInitializer implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaVersionInitializer.class);
+
+    private final DataSource dataSource;
+    private final List<Resource> scripts;
+
+    public SchemaVersionInitializer(DataSource dataSource, List<Resource> scripts) {
+        this.dataSource = dataSource;
+        this.scripts = scripts;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS `schema_version` ("
+                + "`checksum` varchar(64) NOT NULL, "
+                + "`applied_at` timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+
+        String checksum = checksum();
+        List<String> applied = jdbcTemplate.queryForList("SELECT `checksum` FROM `schema_version`", String.class);
+
+        if (applied.size() == 1 && applied.get(0).equals(checksum)) {
+            LOGGER.info("Database schema is up to date (checksum {}), skipping initialization scripts", checksum);
+            return;
+        }
+
+        LOGGER.warn("Database schema checksum changed ({} -> {}), running initialization scripts",
+                applied.isEmpty() ? "none" : applied.get(0), checksum);
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        scripts.forEach(populator::addScript);
+        populator.setSqlScriptEncoding("UTF-8");
+        DatabasePopulatorUtils.execute(populator, dataSource);
+
+        jdbcTemplate.update("DELETE FROM `schema_version`");
+        jdbcTemplate.update("INSERT INTO `schema_version` (`checksum`) VALUES (?)", checksum);
+    }
+
+    /**
+     * @return tipo String, suma de comprobacion de la concatenacion de los scripts, en hexadecimal
+     */
+    private String checksum() {
+        StringBuilder digests = new StringBuilder();
+        for (Resource script : scripts) {
+            try (InputStream inputStream = script.getInputStream()) {
+                digests.append(DigestUtils.md5DigestAsHex(inputStream));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read " + script.getDescription(), e);
+            }
+        }
+        return DigestUtils.md5DigestAsHex(digests.toString().getBytes());
+    }
+}
@@ -0,0 +1,26 @@
+package springBootSimpleHTTPService.util;
+
+import org.springframework.core.convert.converter.Converter;
+import springBootSimpleHTTPService.controller.exception.RoleNotFoundException;
+import springBootSimpleHTTPService.entity.JobEnum;
+
+/**
+ * Clase de la capa de utilidades.
+ *
+ * Convertidor de Spring que resuelve el valor de JobEnum correspondiente a un nombre de empleo
+ * recibido como variable de ruta (@PathVariable) o parametro de la solicitud web (@RequestParam),
+ * sin distinguir mayusculas de minusculas.
+ *
+ * Se registra en la configuracion de Spring MVC (WebMVCConfiguration)
+ */
+public class StringToJobEnumConverter implements Converter<String, JobEnum> {
+
+    @Override
+    public JobEnum convert(String jobTitle) {
+        JobEnum jobEnum = JobEnum.fromJobTitleIgnoreCase(jobTitle.trim());
+        if (jobEnum == null) {
+            throw new RoleNotFoundException(jobTitle);
+        }
+        return jobEnum;
+    }
+}
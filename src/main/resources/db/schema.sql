@@ -1,5 +1,6 @@
 DROP TABLE IF EXISTS `employee`;
 DROP table IF EXISTS  `role`;
+DROP SEQUENCE IF EXISTS employee_seq;
 
 CREATE TABLE `role` (
   `id` int(11) NOT NULL AUTO_INCREMENT,
@@ -13,8 +14,22 @@ CREATE TABLE `employee` (
   `firstname` varchar(250) DEFAULT NULL,
   `lastname` varchar(250) DEFAULT NULL,
   `role_id` int(11) DEFAULT NULL,
+  `version` bigint DEFAULT 0 NOT NULL,
   PRIMARY KEY (`id`),
   CONSTRAINT `role_fk` FOREIGN KEY (`role_id`) REFERENCES `role` (`id`)
 );
 
+-- Indices secundarios:
+-- employee (role_id, id), busquedas por role paginadas por id (WHERE role_id = ? AND id > ? ORDER BY id)
+-- employee (lastname) y (firstname), busqueda por prefijo del nombre (LIKE 'prefijo%')
+-- role (jobtitle), unico, cada empleo tiene un unico role
+CREATE INDEX `employee_role_id_idx` ON `employee` (`role_id`, `id`);
+CREATE INDEX `employee_lastname_idx` ON `employee` (`lastname`);
+CREATE INDEX `employee_firstname_idx` ON `employee` (`firstname`);
+CREATE UNIQUE INDEX `role_jobtitle_idx` ON `role` (`jobtitle`);
+
+-- Ids de los empleados creados por la aplicacion (optimizador pooled de Hibernate, bloques de 50).
+-- Empieza por encima de los ids de los empleados iniciales de import.sql
+CREATE SEQUENCE employee_seq START WITH 1000 INCREMENT BY 50;
+
 
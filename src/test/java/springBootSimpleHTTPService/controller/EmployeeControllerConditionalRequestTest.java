@@ -0,0 +1,240 @@
+package springBootSimpleHTTPService.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.service.IEmployeeService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Pruebas de las peticiones condicionales de EmployeeController:
+ *
+ * - GET /employees/{id} con If-None-Match, 304 (Not Modified) si la ETag es la actual
+ * - PUT y PATCH /employees/{id} con If-Match, 412 (Precondition Failed) si la ETag ya no es la actual
+ *   o si el empleado no existe, y modificacion del empleado si la cabecera es "*"
+ * - PUT /employees/{id} concurrente con otra modificacion, 409 (Conflict) por la columna 'version'
+ *
+ * Cada prueba crea sus propios empleados mediante POST /employees, por lo que no depende de los
+ * datos iniciales de import.sql ni del orden de ejecucion
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeControllerConditionalRequestTest {
+
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private IEmployeeService iEmployeeService;
+
+    @Test
+    void getWithCurrentETagReturnsNotModified() throws Exception {
+        long id = createEmployee("Grace", "Hopper");
+
+        MvcResult first = perform(get("/employees/{id}", id));
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(first.getResponse().getStatus()).isEqualTo(201);
+        assertThat(eTag).startsWith("\"" + id + "-");
+
+        MvcResult second = perform(get("/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertThat(second.getResponse().getStatus()).isEqualTo(304);
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(second.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void getWithStaleETagReturnsBody() throws Exception {
+        long id = createEmployee("Grace", "Hopper");
+        String staleETag = eTag(id);
+
+        assertThat(perform(patchRequest(id, "{\"lastName\": \"Murray\"}")).getResponse().getStatus()).isEqualTo(204);
+
+        MvcResult result = perform(get("/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, staleETag));
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(staleETag);
+        assertThat(result.getResponse().getContentAsString()).contains("Murray");
+    }
+
+    @Test
+    void putWithCurrentETagUpdatesEmployeeAndReturnsNewETag() throws Exception {
+        long id = createEmployee("Ada", "Byron");
+        String eTag = eTag(id);
+
+        MvcResult result = perform(putRequest(id, "Ada", "Lovelace").header(HttpHeaders.IF_MATCH, eTag));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull().isNotEqualTo(eTag);
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag(id));
+    }
+
+    @Test
+    void putWithStaleETagReturnsPreconditionFailed() throws Exception {
+        long id = createEmployee("Ada", "Byron");
+        String staleETag = eTag(id);
+
+        assertThat(perform(putRequest(id, "Ada", "King")).getResponse().getStatus()).isEqualTo(201);
+
+        MvcResult result = perform(putRequest(id, "Ada", "Lovelace").header(HttpHeaders.IF_MATCH, staleETag));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(412);
+        assertThat(lastName(id)).isEqualTo("King");
+    }
+
+    @Test
+    void putWithWildcardUpdatesExistingEmployee() throws Exception {
+        long id = createEmployee("Ada", "Byron");
+
+        MvcResult result = perform(putRequest(id, "Ada", "Lovelace").header(HttpHeaders.IF_MATCH, "*"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        assertThat(lastName(id)).isEqualTo("Lovelace");
+    }
+
+    @Test
+    void putWithWildcardOnMissingEmployeeReturnsPreconditionFailed() throws Exception {
+        long missingId = missingEmployeeId();
+
+        MvcResult result = perform(putRequest(missingId, "Ada", "Lovelace").header(HttpHeaders.IF_MATCH, "*"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(412);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from employee where id = ?", Integer.class, missingId))
+                .isZero();
+    }
+
+    @Test
+    void putModifiedConcurrentlyReturnsConflict() throws Exception {
+        long id = createEmployee("Ada", "Byron");
+
+        //otra transaccion modifica el empleado entre su lectura y su escritura
+        doAnswer(invocation -> {
+            jdbcTemplate.update("update employee set lastname = 'King', version = version + 1 where id = ?", id);
+            return invocation.callRealMethod();
+        }).when(iEmployeeService).saveEmployee(any(Employee.class));
+
+        MvcResult result = perform(putRequest(id, "Ada", "Lovelace"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(409);
+        assertThat(result.getResponse().getContentAsString()).contains("modified concurrently");
+        assertThat(jdbcTemplate.queryForObject("select lastname from employee where id = ?", String.class, id))
+                .isEqualTo("King");
+    }
+
+    @Test
+    void patchWithCurrentETagUpdatesEmployee() throws Exception {
+        long id = createEmployee("Linus", "Torvalds");
+        String eTag = eTag(id);
+
+        MvcResult result = perform(patchRequest(id, "{\"firstName\": \"Linus B.\"}").header(HttpHeaders.IF_MATCH, eTag));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(204);
+        assertThat(eTag(id)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void patchWithStaleETagReturnsPreconditionFailed() throws Exception {
+        long id = createEmployee("Linus", "Torvalds");
+        String staleETag = eTag(id);
+
+        assertThat(perform(patchRequest(id, "{\"lastName\": \"Benedict\"}")).getResponse().getStatus()).isEqualTo(204);
+
+        MvcResult result = perform(patchRequest(id, "{\"lastName\": \"Stallman\"}").header(HttpHeaders.IF_MATCH, staleETag));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(412);
+        assertThat(lastName(id)).isEqualTo("Benedict");
+    }
+
+    @Test
+    void patchWithWildcardUpdatesExistingEmployee() throws Exception {
+        long id = createEmployee("Linus", "Torvalds");
+
+        MvcResult result = perform(patchRequest(id, "{\"lastName\": \"Benedict\"}").header(HttpHeaders.IF_MATCH, "*"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(204);
+        assertThat(lastName(id)).isEqualTo("Benedict");
+    }
+
+    @Test
+    void patchOnMissingEmployeeReturnsNotFoundOrPreconditionFailed() throws Exception {
+        long missingId = missingEmployeeId();
+
+        assertThat(perform(patchRequest(missingId, "{\"lastName\": \"Benedict\"}"))
+                .getResponse().getStatus()).isEqualTo(404);
+        assertThat(perform(patchRequest(missingId, "{\"lastName\": \"Benedict\"}").header(HttpHeaders.IF_MATCH, "*"))
+                .getResponse().getStatus()).isEqualTo(412);
+    }
+
+    /**
+     * Ejecuta una peticion de un metodo asincrono del controlador (CompletableFuture) y el posterior
+     * despacho del resultado, en el que se aplican los ControllerAdvice
+     */
+    private MvcResult perform(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+
+    private long createEmployee(String firstName, String lastName) throws Exception {
+        MvcResult result = perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeJson(firstName, lastName)));
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String eTag(long id) throws Exception {
+        MvcResult result = perform(get("/employees/{id}", id));
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String lastName(long id) throws Exception {
+        MvcResult result = perform(get("/employees/{id}", id));
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("lastName").asText();
+    }
+
+    private long missingEmployeeId() {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1000000 from employee", Long.class);
+    }
+
+    private MockHttpServletRequestBuilder putRequest(long id, String firstName, String lastName) {
+        return put("/employees/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeJson(firstName, lastName));
+    }
+
+    private MockHttpServletRequestBuilder patchRequest(long id, String mergePatch) {
+        return patch("/employees/{id}", id)
+                .contentType(MERGE_PATCH_JSON_VALUE)
+                .content(mergePatch);
+    }
+
+    private static String employeeJson(String firstName, String lastName) {
+        return "{\"firstName\": \"" + firstName + "\", \"lastName\": \"" + lastName + "\", \"role\": {\"id\": 1}}";
+    }
+}
@@ -0,0 +1,226 @@
+package springBootSimpleHTTPService.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Pruebas de POST /employees/import: estado 201 (Created) o 207 (Multi-Status), informe de errores por linea,
+ * cuerpo comprimido con gzip y reintento linea a linea de un bloque que falla al guardarse.
+ *
+ * El tamaño de bloque se reduce a 3 empleados, para que un fichero pequeño ocupe varios bloques, y la longitud
+ * maxima de un registro a 400 caracteres. Cada prueba utiliza apellidos propios, con los que comprueba los
+ * empleados creados en la base de datos
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importtest",
+        "employees.import.chunk-size=3",
+        "employees.import.max-record-length=400"})
+@AutoConfigureMockMvc
+class EmployeeControllerImportTest {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String HEADER = "firstName,lastName,jobTitle\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allValidLinesReturnCreated() throws Exception {
+        String csv = HEADER
+                + "Roy,Created-1,Software Engineer\r\n"
+                + "\"Fielding, Jr.\",Created-2,qa tester\r\n"
+                + "Alan,Created-3,Web Developer\r\n"
+                + "Gareth,Created-4,UX Designer\r\n";
+
+        MvcResult result = perform(importRequest(csv.getBytes(StandardCharsets.UTF_8)));
+        JsonNode body = body(result);
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        assertThat(body.get("records").asLong()).isEqualTo(4);
+        assertThat(body.get("created").asLong()).isEqualTo(4);
+        assertThat(body.get("rejected").asLong()).isZero();
+        assertThat(body.get("errors")).isEmpty();
+        assertThat(employeesWithLastNamePrefix("Created-")).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("select firstname from employee where lastname = 'Created-2'",
+                String.class)).isEqualTo("Fielding, Jr.");
+    }
+
+    @Test
+    void invalidLinesAreReportedWithTheirLineNumbers() throws Exception {
+        String csv = HEADER
+                + "Roy,Partial-1,Software Engineer\r\n"
+                + "Alan,Partial-2,Astronaut\r\n"
+                + "\r\n"
+                + ",Partial-3,QA Tester\r\n"
+                + "Gareth,Partial-4,IT Director\r\n";
+
+        MvcResult result = perform(importRequest(csv.getBytes(StandardCharsets.UTF_8)));
+        JsonNode body = body(result);
+        JsonNode errors = body.get("errors");
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(207);
+        assertThat(body.get("records").asLong()).isEqualTo(4);
+        assertThat(body.get("created").asLong()).isEqualTo(2);
+        assertThat(body.get("rejected").asLong()).isEqualTo(2);
+
+        //la linea 4 esta vacia, la linea 5 conserva su numero
+        assertThat(errors).hasSize(2);
+        assertThat(errors.get(0).get("line").asLong()).isEqualTo(3);
+        assertThat(errors.get(0).get("errors").get(0).asText()).isEqualTo("Unknown job title: Astronaut");
+        assertThat(errors.get(1).get("line").asLong()).isEqualTo(5);
+        assertThat(errors.get(1).get("errors").get(0).asText()).contains("firstName");
+
+        assertThat(employeesWithLastNamePrefix("Partial-")).isEqualTo(2);
+    }
+
+    @Test
+    void gzipBodyIsDecompressed() throws Exception {
+        String csv = HEADER
+                + "Roy,Gzip-1,Software Engineer\r\n"
+                + "Alan,Gzip-2,Data Scientist\r\n";
+
+        MvcResult result = perform(importRequest(gzip(csv)).header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        JsonNode body = body(result);
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        assertThat(body.get("created").asLong()).isEqualTo(2);
+        assertThat(employeesWithLastNamePrefix("Gzip-")).isEqualTo(2);
+    }
+
+    @Test
+    void unsupportedContentEncodingIsRejected() throws Exception {
+        String csv = HEADER + "Roy,Encoding-1,Software Engineer\r\n";
+
+        MvcResult result = perform(importRequest(csv.getBytes(StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_ENCODING, "br"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(415);
+        assertThat(employeesWithLastNamePrefix("Encoding-")).isZero();
+    }
+
+    @Test
+    void failedChunkIsRetriedLineByLine() throws Exception {
+        //el nombre supera la columna varchar(250): el bloque falla al guardarse y se reintenta linea a linea
+        String csv = HEADER
+                + "Roy,Retry-1,Software Engineer\r\n"
+                + "Alan,Retry-2,Web Developer\r\n"
+                + "Gareth,Retry-3,QA Tester\r\n"
+                + "Giacomo,Retry-4,Data Scientist\r\n"
+                + "x".repeat(300) + ",Retry-5,QA Tester\r\n"
+                + "Evans,Retry-6,UX Designer\r\n";
+
+        MvcResult result = perform(importRequest(csv.getBytes(StandardCharsets.UTF_8)));
+        JsonNode body = body(result);
+        JsonNode errors = body.get("errors");
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(207);
+        assertThat(body.get("records").asLong()).isEqualTo(6);
+        assertThat(body.get("created").asLong()).isEqualTo(5);
+        assertThat(body.get("rejected").asLong()).isEqualTo(1);
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).get("line").asLong()).isEqualTo(6);
+
+        assertThat(employeesWithLastNamePrefix("Retry-")).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from employee where lastname = 'Retry-5'",
+                Integer.class)).isZero();
+    }
+
+    @Test
+    void overLongRecordIsRejectedAndImportContinues() throws Exception {
+        String csv = HEADER
+                + "Roy,Long-1,Software Engineer\r\n"
+                + "Alan," + "y".repeat(500) + ",QA Tester\r\n"
+                + "Gareth,Long-3,UX Designer\r\n";
+
+        MvcResult result = perform(importRequest(csv.getBytes(StandardCharsets.UTF_8)));
+        JsonNode body = body(result);
+        JsonNode errors = body.get("errors");
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(207);
+        assertThat(body.has("aborted")).isFalse();
+        assertThat(body.get("records").asLong()).isEqualTo(3);
+        assertThat(body.get("created").asLong()).isEqualTo(2);
+        assertThat(body.get("rejected").asLong()).isEqualTo(1);
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).get("line").asLong()).isEqualTo(3);
+        assertThat(errors.get(0).get("errors").get(0).asText()).isEqualTo("Record longer than 400 characters");
+
+        assertThat(employeesWithLastNamePrefix("Long-")).isEqualTo(2);
+    }
+
+    @Test
+    void malformedRecordAbortsImportAfterSavingTheLinesReadBeforeIt() throws Exception {
+        String csv = HEADER
+                + "Roy,Aborted-1,Software Engineer\r\n"
+                + "Alan,Aborted-2,Web Developer\r\n"
+                + "Gareth,Aborted-3,QA Tester\r\n"
+                + "Giacomo,Aborted-4,Data Scientist\r\n"
+                + "\"Evans,Aborted-5,UX Designer\r\n";
+
+        MvcResult result = perform(importRequest(csv.getBytes(StandardCharsets.UTF_8)));
+        JsonNode body = body(result);
+
+        //las lineas 2 a 4 forman un bloque completo; la linea 5 aun no, pero tambien se guarda
+        assertThat(result.getResponse().getStatus()).isEqualTo(207);
+        assertThat(body.get("aborted").asText()).isEqualTo("Line 6: Unterminated quoted field");
+        assertThat(body.get("records").asLong()).isEqualTo(4);
+        assertThat(body.get("created").asLong()).isEqualTo(4);
+        assertThat(body.get("rejected").asLong()).isZero();
+        assertThat(employeesWithLastNamePrefix("Aborted-")).isEqualTo(4);
+    }
+
+    /**
+     * Ejecuta la peticion asincrona y el posterior despacho del resultado
+     */
+    private MvcResult perform(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+
+    private JsonNode body(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private int employeesWithLastNamePrefix(String prefix) {
+        return jdbcTemplate.queryForObject("select count(*) from employee where lastname like ?", Integer.class,
+                prefix + "%");
+    }
+
+    private static MockHttpServletRequestBuilder importRequest(byte[] content) {
+        return post("/employees/import").contentType(TEXT_CSV_VALUE).content(content);
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
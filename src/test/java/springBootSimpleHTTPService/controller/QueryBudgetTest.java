@@ -0,0 +1,288 @@
+package springBootSimpleHTTPService.controller;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import springBootSimpleHTTPService.service.RoleStatsAggregator;
+import springBootSimpleHTTPService.util.QueryBudget;
+import springBootSimpleHTTPService.util.StatementCounter;
+import springBootSimpleHTTPService.util.StatementCountingDataSourcePostProcessor;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Prueba del presupuesto de sentencias SQL (@QueryBudget) de EmployeeController y RoleController.
+ *
+ * El DataSource se envuelve en un proxy (StatementCountingDataSourcePostProcessor) que cuenta las sentencias
+ * ejecutadas por cada peticion en un StatementCounter, pasado como atributo de la peticion. Antes de cada
+ * peticion se vacian las caches de segundo nivel y de consultas, por lo que se mide el peor caso.
+ *
+ * - everyMappingStaysWithinItsQueryBudget, ejecuta todos los metodos mapeados de ambos controladores y comprueba
+ *   que ninguno supera su presupuesto y que todos, salvo los de UNBUDGETED, lo declaran
+ * - listingsRunTheSameStatementsForOneAndManyRows, ejecuta los listados con una fila y con LISTING_ROWS filas y
+ *   comprueba que el numero de sentencias es el mismo, es decir, que no hay consultas N+1
+ *
+ * Utiliza su propia base de datos en memoria, ya que sustituye los empleados de import.sql
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:querybudget")
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    private static final int LISTING_ROWS = 60;
+
+    private static final Long LISTING_ROLE_ID = 1L;
+    private static final String LISTING_JOB_TITLE = "Software Engineer";
+
+    private static final List<Class<?>> CONTROLLERS = List.of(EmployeeController.class, RoleController.class);
+
+    //creacion por lotes e importacion: el numero de sentencias crece con el numero de empleados de la peticion
+    private static final Set<String> UNBUDGETED = Set.of("newEmployees", "importEmployees");
+
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        @Bean
+        static StatementCountingDataSourcePostProcessor statementCountingDataSourcePostProcessor() {
+            return new StatementCountingDataSourcePostProcessor();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoleStatsAggregator roleStatsAggregator;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping requestMappingHandlerMapping;
+
+    @Test
+    void everyMappingStaysWithinItsQueryBudget() throws Exception {
+        List<Long> ids = resetEmployees(LISTING_ROWS);
+        Long id = ids.get(0);
+
+        List<MockHttpServletRequestBuilder> requests = List.of(
+                get("/employees").param("limit", "100"),
+                get("/employees").param("after", String.valueOf(id)).param("limit", "10"),
+                get("/employees/export"),
+                get("/employees/changes/stream").accept(MediaType.TEXT_EVENT_STREAM),
+                get("/employees/{id}", id),
+                post("/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Ada\", \"lastName\": \"Lovelace\", \"role\": {\"id\": 2}}"),
+                post("/employees/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"firstName\": \"Alan\", \"lastName\": \"Turing\", \"role\": {\"id\": 2}},"
+                                + " {\"firstName\": \"Grace\", \"lastName\": \"Hopper\", \"role\": {\"id\": 3}}]"),
+                post("/employees/import").contentType("text/csv")
+                        .content("firstName,lastName,jobTitle\r\nEdsger,Dijkstra,QA Tester\r\n"
+                                .getBytes(StandardCharsets.UTF_8)),
+                put("/employees/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Barbara\", \"lastName\": \"Liskov\", \"role\": {\"id\": 1}}"),
+                patch("/employees/{id}", id).contentType("application/merge-patch+json")
+                        .content("{\"lastName\": \"Huskey\", \"role\": {\"id\": 3}}"),
+                delete("/employees/{id}", ids.get(1)),
+                post("/employees/reassign-role").param("from", "2").param("to", "3"),
+                post("/employees/reassign").param("to", "4").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + ids.get(2) + ", " + ids.get(3) + ", " + ids.get(4) + "]"),
+                delete("/employees/roleid/{role_id}", 4),
+                get("/employees/roleid/{role_id}", LISTING_ROLE_ID).param("limit", "100"),
+                get("/employees/role/{job}", LISTING_JOB_TITLE).param("limit", "100"),
+                get("/employees/role").param("job", LISTING_JOB_TITLE.toLowerCase()).param("limit", "100"),
+                get("/employees/search").param("name", "Row").param("minSalary", "40000")
+                        .param("sort", "lastName,desc").param("limit", "100"),
+                get("/roles"),
+                get("/roles/stats"),
+                get("/roles/{id}", 1),
+                post("/roles/{id}/salary-adjustment", 5).param("percent", "10"));
+
+        Set<Method> exercised = new HashSet<>();
+        List<String> violations = new ArrayList<>();
+
+        for (MockHttpServletRequestBuilder request : requests) {
+            Measurement measurement = measure(request);
+            Method method = measurement.handler.getMethod();
+            QueryBudget queryBudget = method.getAnnotation(QueryBudget.class);
+            exercised.add(method);
+
+            assertThat(measurement.status).as(measurement.description()).isBetween(200, 399);
+
+            if (queryBudget == null) {
+                if (!UNBUDGETED.contains(method.getName())) {
+                    violations.add(measurement.description() + " declares no @QueryBudget");
+                }
+            } else if (measurement.statements > queryBudget.value()) {
+                violations.add(measurement.description() + " ran " + measurement.statements
+                        + " statements, budget " + queryBudget.value());
+            }
+        }
+
+        assertThat(violations).isEmpty();
+        assertThat(exercised).containsExactlyInAnyOrderElementsOf(mappedMethods());
+    }
+
+    @Test
+    void listingsRunTheSameStatementsForOneAndManyRows() throws Exception {
+        resetEmployees(1);
+        Map<String, Integer> oneRow = measureListings(1);
+
+        resetEmployees(LISTING_ROWS);
+        Map<String, Integer> manyRows = measureListings(LISTING_ROWS);
+
+        assertThat(manyRows).isEqualTo(oneRow);
+    }
+
+    /**
+     * Ejecuta los listados de ambos controladores sobre los empleados de resetEmployees(rows)
+     *
+     * @return numero de sentencias de cada listado, por su URL
+     */
+    private Map<String, Integer> measureListings(int rows) throws Exception {
+        List<MockHttpServletRequestBuilder> listings = List.of(
+                get("/employees").param("limit", "100"),
+                get("/employees/export"),
+                get("/employees/roleid/{role_id}", LISTING_ROLE_ID).param("limit", "100"),
+                get("/employees/role/{job}", LISTING_JOB_TITLE).param("limit", "100"),
+                get("/employees/role").param("job", LISTING_JOB_TITLE).param("limit", "100"),
+                get("/employees/search").param("name", "Row").param("minSalary", "40000")
+                        .param("sort", "lastName,desc").param("limit", "100"),
+                get("/roles"),
+                get("/roles/stats"));
+
+        Map<String, Integer> statements = new LinkedHashMap<>();
+        for (MockHttpServletRequestBuilder listing : listings) {
+            Measurement measurement = measure(listing);
+            assertThat(measurement.status).as(measurement.description()).isBetween(200, 299);
+            if (measurement.uri.startsWith("/employees")) {
+                //la respuesta contiene el ultimo empleado, por lo que el listado recorre todas las filas
+                assertThat(measurement.body).as(measurement.description()).contains(lastName(rows));
+            }
+            if (measurement.uri.equals("/roles/stats")) {
+                //el mismo nombre de empleo que en /roles y /employees
+                assertThat(measurement.body).as(measurement.description())
+                        .contains("\"jobTitle\":\"" + LISTING_JOB_TITLE + "\"")
+                        .doesNotContain(LISTING_JOB_TITLE.replace(' ', '_'));
+            }
+            statements.put(measurement.description(), measurement.statements);
+        }
+        return statements;
+    }
+
+    /**
+     * Ejecuta una peticion con las caches vacias y cuenta sus sentencias SQL, incluidas las de la parte
+     * asincrona (CompletableFuture o StreamingResponseBody) que se completa en el despacho posterior.
+     * Un flujo de eventos no se completa, por lo que solo se cuentan las sentencias de la suscripcion
+     */
+    private Measurement measure(MockHttpServletRequestBuilder request) throws Exception {
+        evictCaches();
+        StatementCounter counter = new StatementCounter();
+
+        MvcResult result = mockMvc.perform(request.requestAttr(StatementCounter.attributeName(), counter)).andReturn();
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        String accept = result.getRequest().getHeader(HttpHeaders.ACCEPT);
+
+        if (result.getRequest().isAsyncStarted()
+                && (accept == null || !accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE))) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+
+        return new Measurement(result, handler, counter.getCount());
+    }
+
+    /**
+     * @return metodos mapeados de EmployeeController y RoleController
+     */
+    private Set<Method> mappedMethods() {
+        return requestMappingHandlerMapping.getHandlerMethods().values().stream()
+                .filter(handlerMethod -> CONTROLLERS.contains(handlerMethod.getBeanType()))
+                .map(HandlerMethod::getMethod)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Sustituye todos los empleados por 'rows' empleados del role LISTING_ROLE_ID, con apellidos ordenados
+     * por fila, y sincroniza los recuentos por role y las caches con la base de datos
+     *
+     * @return ids de los empleados, en orden ascendente
+     */
+    private List<Long> resetEmployees(int rows) {
+        jdbcTemplate.update("delete from employee");
+        List<Object[]> employees = new ArrayList<>();
+        for (int row = 1; row <= rows; row++) {
+            employees.add(new Object[]{"Employee", lastName(row), LISTING_ROLE_ID});
+        }
+        jdbcTemplate.batchUpdate("insert into employee (firstname, lastname, role_id) values (?, ?, ?)", employees);
+        roleStatsAggregator.reconcile();
+        evictCaches();
+        return jdbcTemplate.queryForList("select id from employee order by id", Long.class);
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private static String lastName(int row) {
+        return String.format("Row%03d", row);
+    }
+
+    /**
+     * Resultado de una peticion y numero de sentencias SQL ejecutadas
+     */
+    private static class Measurement {
+
+        private final String method;
+        private final String uri;
+        private final int status;
+        private final String body;
+        private final HandlerMethod handler;
+        private final int statements;
+
+        Measurement(MvcResult result, HandlerMethod handler, int statements) throws Exception {
+            this.method = result.getRequest().getMethod();
+            this.uri = result.getRequest().getRequestURI();
+            this.status = result.getResponse().getStatus();
+            this.body = result.getResponse().getContentAsString();
+            this.handler = handler;
+            this.statements = statements;
+        }
+
+        String description() {
+            return method + " " + uri + " (" + handler.getMethod().getName() + ")";
+        }
+    }
+}
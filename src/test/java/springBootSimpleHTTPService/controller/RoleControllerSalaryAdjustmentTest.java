@@ -0,0 +1,97 @@
+package springBootSimpleHTTPService.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Pruebas de POST /roles/{id}/salary-adjustment: el porcentaje debe ser mayor que -100 y el salario resultante
+ * debe caber en la columna annualsalary (decimal(9,2)); en caso contrario se responde 400 sin modificar el role.
+ *
+ * Utiliza su propia base de datos en memoria, ya que modifica los salarios de import.sql
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:salaryadjustment")
+@AutoConfigureMockMvc
+class RoleControllerSalaryAdjustmentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void validPercentageAdjustsSalary() throws Exception {
+        BigDecimal salary = salary(2);
+
+        MvcResult result = perform(adjustment(2, "10"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(salary(2)).isEqualByComparingTo(salary.multiply(new BigDecimal("1.10")));
+    }
+
+    @Test
+    void percentageAtOrBelowMinusHundredIsRejected() throws Exception {
+        BigDecimal salary = salary(3);
+
+        MvcResult result = perform(adjustment(3, "-100"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(400);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_TYPE))
+                .isEqualTo(MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE);
+        assertThat(salary(3)).isEqualByComparingTo(salary);
+    }
+
+    @Test
+    void salaryAboveColumnPrecisionIsRejected() throws Exception {
+        BigDecimal salary = salary(4);
+
+        MvcResult result = perform(adjustment(4, "100000"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(400);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_TYPE))
+                .isEqualTo(MediaTypes.HTTP_PROBLEM_DETAILS_JSON_VALUE);
+        assertThat(result.getResponse().getContentAsString()).contains("9999999.99");
+        assertThat(salary(4)).isEqualByComparingTo(salary);
+    }
+
+    @Test
+    void salaryRoundedToZeroIsRejected() throws Exception {
+        BigDecimal salary = salary(5);
+
+        MvcResult result = perform(adjustment(5, "-99.99999999"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(400);
+        assertThat(salary(5)).isEqualByComparingTo(salary);
+    }
+
+    /**
+     * Ejecuta la peticion asincrona y el posterior despacho del resultado
+     */
+    private MvcResult perform(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+
+    private BigDecimal salary(long roleId) {
+        return jdbcTemplate.queryForObject("select annualsalary from role where id = ?", BigDecimal.class, roleId);
+    }
+
+    private static MockHttpServletRequestBuilder adjustment(long roleId, String percent) {
+        return post("/roles/{id}/salary-adjustment", roleId).param("percent", percent);
+    }
+}
@@ -0,0 +1,60 @@
+package springBootSimpleHTTPService.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del tiempo maximo por peticion de AsyncTimeoutInterceptor: se aplica al iniciar el procesamiento
+ * asincrono solo en las peticiones que lo indican; el resto conservan el tiempo maximo global
+ */
+class AsyncTimeoutInterceptorTest {
+
+    private static final long GLOBAL_TIMEOUT = 30000;
+
+    private static final Callable<Void> TASK = () -> null;
+
+    @Test
+    void requestTimeoutReplacesGlobalTimeout() throws Exception {
+        MockHttpServletRequest request = asyncRequest();
+        StandardServletAsyncWebRequest asyncWebRequest = asyncWebRequest(request);
+
+        AsyncTimeoutInterceptor.setTimeout(asyncWebRequest, 1800000);
+        new AsyncTimeoutInterceptor().beforeConcurrentHandling(asyncWebRequest, TASK);
+        asyncWebRequest.startAsync();
+
+        assertThat(request.getAsyncContext().getTimeout()).isEqualTo(1800000);
+    }
+
+    @Test
+    void requestWithoutTimeoutKeepsGlobalTimeout() throws Exception {
+        MockHttpServletRequest request = asyncRequest();
+        StandardServletAsyncWebRequest asyncWebRequest = asyncWebRequest(request);
+
+        new AsyncTimeoutInterceptor().beforeConcurrentHandling(asyncWebRequest, TASK);
+        asyncWebRequest.startAsync();
+
+        assertThat(request.getAsyncContext().getTimeout()).isEqualTo(GLOBAL_TIMEOUT);
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/export");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    /**
+     * @return peticion asincrona con el tiempo maximo global, como la crea RequestMappingHandlerAdapter
+     */
+    private static StandardServletAsyncWebRequest asyncWebRequest(MockHttpServletRequest request) {
+        StandardServletAsyncWebRequest asyncWebRequest =
+                new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncWebRequest.setTimeout(GLOBAL_TIMEOUT);
+        return asyncWebRequest;
+    }
+}
@@ -0,0 +1,155 @@
+package springBootSimpleHTTPService.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas del lector de CSV (RFC 4180): campos entre comillas, saltos de linea, lineas vacias,
+ * numero de linea de cada registro y errores de formato
+ */
+class CsvReaderTest {
+
+    private static final int MAX_RECORD_LENGTH = 4096;
+
+    @Test
+    void quotedFieldsKeepEscapedQuotesSeparatorsAndLineBreaks() throws IOException {
+        CsvReader reader = reader("\"a \"\"quoted\"\" word\",\"line1\r\nline2\",\"x,y\",plain\r\nnext,,\r\n");
+
+        assertThat(reader.readRecord()).containsExactly("a \"quoted\" word", "line1\r\nline2", "x,y", "plain");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+
+        //el salto de linea del campo entre comillas cuenta para el numero de linea del registro siguiente
+        assertThat(reader.readRecord()).containsExactly("next", "", "");
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void quotedFieldFollowedByCarriageReturnEndsRecord() throws IOException {
+        CsvReader reader = reader("\"a\"\r\"b\",c\r\n");
+
+        assertThat(reader.readRecord()).containsExactly("a");
+        assertThat(reader.readRecord()).containsExactly("b", "c");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void bareCarriageReturnEndsRecordWithoutConsumingNextCharacter() throws IOException {
+        CsvReader reader = reader("a,b\rc,d\r\re");
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+
+        assertThat(reader.readRecord()).containsExactly("c", "d");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+
+        //la linea 3 esta vacia
+        assertThat(reader.readRecord()).containsExactly("e");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void blankLinesAreSkippedAndRecordLineCountsThem() throws IOException {
+        CsvReader reader = reader("\r\n\nfirst,record\r\n\r\n\nsecond\n\n");
+
+        assertThat(reader.readRecord()).containsExactly("first", "record");
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+
+        assertThat(reader.readRecord()).containsExactly("second");
+        assertThat(reader.getRecordLine()).isEqualTo(6);
+
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void lastRecordWithoutLineBreakIsRead() throws IOException {
+        CsvReader reader = reader("a,b\nc,\"d\"");
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThat(reader.readRecord()).containsExactly("c", "d");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(reader("").readRecord()).isNull();
+        assertThat(reader("\r\n\n").readRecord()).isNull();
+    }
+
+    @Test
+    void overLongRecordFailsWithItsLineAndReadingResumesOnNextLine() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("short\n\nthis record is too long\nok\n"), 10);
+
+        assertThat(reader.readRecord()).containsExactly("short");
+
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(CsvReader.RecordTooLongException.class)
+                .hasMessage("Line 3: Record longer than 10 characters")
+                .extracting(e -> ((CsvReader.CsvFormatException) e).getLine())
+                .isEqualTo(3L);
+
+        assertThat(reader.readRecord()).containsExactly("ok");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void overLongRecordEndedByBareCarriageReturnResumesOnNextLine() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("this record is too long\rnext\r\n"), 10);
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(CsvReader.RecordTooLongException.class);
+
+        assertThat(reader.readRecord()).containsExactly("next");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void recordOfMaximumLengthDoesNotCountItsLineBreak() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("0123456789\r\n01234,6789\n"), 10);
+
+        assertThat(reader.readRecord()).containsExactly("0123456789");
+        assertThat(reader.readRecord()).containsExactly("01234", "6789");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void overLongQuotedFieldFailsWithLineWhereRecordStarts() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n\"12345\n67890\n12345\"\n"), 10);
+
+        assertThat(reader.readRecord()).containsExactly("a");
+
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(CsvReader.RecordTooLongException.class)
+                .extracting(e -> ((CsvReader.CsvFormatException) e).getLine())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void unterminatedQuoteAtEndOfInputFails() throws IOException {
+        CsvReader reader = reader("a,b\n\n\"open,field\nstill open");
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(CsvReader.CsvFormatException.class)
+                .isNotInstanceOf(CsvReader.RecordTooLongException.class)
+                .hasMessage("Line 3: Unterminated quoted field")
+                .extracting(e -> ((CsvReader.CsvFormatException) e).getLine())
+                .isEqualTo(3L);
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv), MAX_RECORD_LENGTH);
+    }
+}
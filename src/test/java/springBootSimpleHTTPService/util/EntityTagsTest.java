@@ -0,0 +1,59 @@
+package springBootSimpleHTTPService.util;
+
+import org.junit.jupiter.api.Test;
+import springBootSimpleHTTPService.entity.Employee;
+import springBootSimpleHTTPService.entity.Role;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de las ETag de los empleados y de la comprobacion de la cabecera If-Match
+ */
+class EntityTagsTest {
+
+    private static final long ROLES_VERSION = 0x2aL;
+
+    @Test
+    void employeeETagContainsIdVersionRoleAndRolesVersion() {
+        assertThat(EntityTags.employee(employee(7L, 3L, 4L), ROLES_VERSION)).isEqualTo("\"7-3-4-2a\"");
+    }
+
+    @Test
+    void matchesCurrentETagWildcardOrAnyOfList() {
+        String current = EntityTags.employee(employee(7L, 3L, 4L), ROLES_VERSION);
+
+        assertThat(EntityTags.matches(current, current)).isTrue();
+        assertThat(EntityTags.matches("*", current)).isTrue();
+        assertThat(EntityTags.matches("\"7-2-4-2a\", " + current, current)).isTrue();
+        assertThat(EntityTags.matches("\"7-2-4-2a\"", current)).isFalse();
+        assertThat(EntityTags.matches("W/" + current, current)).isFalse();
+    }
+
+    @Test
+    void employeeVersionsReturnsNullForWildcard() {
+        assertThat(EntityTags.employeeVersions("*", 7L, ROLES_VERSION)).isNull();
+        assertThat(EntityTags.employeeVersions("\"7-2-4-2a\", *", 7L, ROLES_VERSION)).isNull();
+    }
+
+    @Test
+    void employeeVersionsReturnsVersionsOfMatchingETags() {
+        assertThat(EntityTags.employeeVersions("\"7-2-4-2a\", \"7-3-5-2a\"", 7L, ROLES_VERSION))
+                .containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void employeeVersionsIgnoresOtherEmployeesRolesVersionsAndWeakETags() {
+        assertThat(EntityTags.employeeVersions("\"8-3-4-2a\"", 7L, ROLES_VERSION)).isEmpty();
+        assertThat(EntityTags.employeeVersions("\"7-3-4-2b\"", 7L, ROLES_VERSION)).isEmpty();
+        assertThat(EntityTags.employeeVersions("W/\"7-3-4-2a\"", 7L, ROLES_VERSION)).isEmpty();
+        assertThat(EntityTags.employeeVersions("\"roles-2a\", \"7-x-4-2a\", 7-3-4-2a", 7L, ROLES_VERSION)).isEmpty();
+    }
+
+    private static Employee employee(Long id, Long version, Long roleId) {
+        Role role = new Role();
+        role.setId(roleId);
+        Employee employee = new Employee(id, "Ada", "Lovelace", role);
+        employee.setVersion(version);
+        return employee;
+    }
+}
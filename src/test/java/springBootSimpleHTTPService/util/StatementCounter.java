@@ -0,0 +1,47 @@
+package springBootSimpleHTTPService.util;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase de utilidades de las pruebas.
+ *
+ * Cuenta las sentencias SQL ejecutadas durante una peticion. Se guarda como atributo de la peticion, por lo que
+ * las sentencias ejecutadas en los hilos de los pools de ExecutorConfiguration tambien se cuentan, ya que
+ * RequestContextTaskDecorator propaga la peticion a esos hilos
+ */
+public class StatementCounter {
+
+    private static final String ATTRIBUTE = StatementCounter.class.getName();
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * @return el contador de la peticion en curso, o null si no hay peticion o no se cuenta
+     */
+    public static StatementCounter current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (StatementCounter) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * @return nombre del atributo de la peticion en el que se guarda el contador
+     */
+    public static String attributeName() {
+        return ATTRIBUTE;
+    }
+
+    /**
+     * Cuenta una sentencia SQL
+     */
+    public void increment() {
+        count.incrementAndGet();
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+}
@@ -0,0 +1,80 @@
+package springBootSimpleHTTPService.util;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Clase de utilidades de las pruebas.
+ *
+ * Implementa la interface BeanPostProcessor: envuelve el DataSource en un proxy que cuenta, en el
+ * StatementCounter de la peticion en curso, cada ejecucion de una sentencia SQL (execute, executeQuery,
+ * executeUpdate y executeBatch, que envia un lote JDBC completo en un unico viaje a la base de datos).
+ *
+ * Solo se registra en el contexto de Spring de QueryBudgetTest, por lo que no tiene coste en produccion
+ */
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(DataSource.class, bean, (proxy, method, args) -> {
+                Object result = invoke(bean, method, args);
+                return result instanceof Connection ? proxyConnection((Connection) result) : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Connection proxyConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement) {
+                return proxyStatement(CallableStatement.class, (Statement) result);
+            }
+            if (result instanceof PreparedStatement) {
+                return proxyStatement(PreparedStatement.class, (Statement) result);
+            }
+            if (result instanceof Statement) {
+                return proxyStatement(Statement.class, (Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T proxyStatement(Class<T> type, Statement statement) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                StatementCounter counter = StatementCounter.current();
+                if (counter != null) {
+                    counter.increment();
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}